@@ -0,0 +1,206 @@
+package Components;
+
+import java.util.List;
+import java.util.Objects;
+
+public class Cache {
+    // Tag arrays for each set. A line is identified by (owner, name, index):
+    // data lines by (processId, variable, 0), instruction lines by (program image, null, pc),
+    // so processes running the same program share their instruction lines.
+    private final Object[] lineOwners;
+    private final Object[] lineNames;
+    private final int[] lineIndexes;
+    private final long[] lineLastUsed; // LRU timestamps, 0 means the line is empty
+
+    public static final int DOUBLES_PER_LINE = 8; // A 64-byte line holds eight array elements
+    private final int numSets;
+    private final int associativity;
+    private final int hitCycles;
+    private final int missCycles;
+
+    private long clock; // Access counter used for LRU ordering
+    private long hits;
+    private long misses;
+    private long instructions;
+    private long cycles;
+
+    /**
+     * Creates a simulated set-associative cache with LRU replacement.
+     *
+     * @param size          the total number of lines in the cache
+     * @param associativity the number of lines per set
+     * @param hitCycles     the cost of a hit in cycles
+     * @param missCycles    the cost of a miss in cycles
+     * @throws IllegalArgumentException if invalid values are provided
+     */
+    public Cache(int size, int associativity, int hitCycles, int missCycles) {
+        if (size <= 0 || associativity <= 0 || size % associativity != 0) {
+            throw new IllegalArgumentException("Cache size must be a positive multiple of the associativity.");
+        }
+        if (hitCycles < 0 || missCycles < hitCycles) {
+            throw new IllegalArgumentException("Miss cost must be at least the hit cost, and both non-negative.");
+        }
+        this.numSets = size / associativity;
+        this.associativity = associativity;
+        this.hitCycles = hitCycles;
+        this.missCycles = missCycles;
+        this.lineOwners = new Object[size];
+        this.lineNames = new Object[size];
+        this.lineIndexes = new int[size];
+        this.lineLastUsed = new long[size];
+    }
+
+    /**
+     * Simulates an access to a variable and charges its cost.
+     *
+     * @param processId the process ID
+     * @param variable  the variable name
+     * @return true on a hit, false on a miss
+     */
+    public boolean access(int processId, String variable) {
+        return access(processId, variable, 0);
+    }
+
+    /**
+     * Simulates fetching an instruction. Instruction lines belong to the program
+     * image, so they are shared by every process running that program.
+     *
+     * @param program the program image
+     * @param pc      the index of the instruction
+     * @return true on a hit, false on a miss
+     */
+    public boolean accessInstruction(ProgramImage program, int pc) {
+        return access(program, null, pc);
+    }
+
+    /**
+     * Simulates an access to a line and charges its cost.
+     *
+     * @param owner the object owning the line (a process ID or a program image)
+     * @param name  the name of the line within its owner, or null
+     * @param index the index of the line within its owner and name
+     * @return true on a hit, false on a miss
+     */
+    private synchronized boolean access(Object owner, Object name, int index) {
+        clock++;
+        int base = Math.floorMod(31 * (31 * owner.hashCode() + Objects.hashCode(name)) + index, numSets) * associativity;
+        int victim = base;
+        for (int i = base; i < base + associativity; i++) {
+            if (lineLastUsed[i] != 0 && lineIndexes[i] == index && lineOwners[i].equals(owner)
+                    && Objects.equals(lineNames[i], name)) {
+                lineLastUsed[i] = clock;
+                hits++;
+                cycles += hitCycles;
+                return true;
+            }
+            if (lineLastUsed[i] < lineLastUsed[victim]) {
+                victim = i;
+            }
+        }
+        lineOwners[victim] = owner;
+        lineNames[victim] = name;
+        lineIndexes[victim] = index;
+        lineLastUsed[victim] = clock;
+        misses++;
+        cycles += missCycles;
+        return false;
+    }
+
+    /**
+     * Charges a whole instruction: its fetch, one base cycle per element, and
+     * every cache line of the variables it reads and writes. An array touches
+     * one line per DOUBLES_PER_LINE elements.
+     *
+     * @param program   the program image the instruction belongs to
+     * @param pc        the index of the instruction
+     * @param processId the process executing it
+     * @param memory    the memory holding the process's variables, used for array lengths
+     */
+    public void chargeInstruction(ProgramImage program, int pc, int processId, Memory memory) {
+        Parser.Instruction instruction = program.getInstruction(pc);
+        List<String> operands = instruction.getOperands();
+        accessInstruction(program, pc);
+        countInstruction(instruction.getCost());
+
+        // Sources: both operands of an expression, or the fill value of an array declaration
+        if (instruction.getType() == Parser.InstructionType.ASSIGN && operands.size() >= 3) {
+            accessVariable(processId, operands.get(2).toLowerCase(), memory);
+            if (operands.size() == 4) {
+                accessVariable(processId, operands.get(3).toLowerCase(), memory);
+            }
+        } else if (instruction.getType() == Parser.InstructionType.ARRAY && operands.size() == 3) {
+            access(processId, operands.get(2).toLowerCase());
+        }
+
+        // Destination: an array result spans one element per unit of cost
+        if (!operands.isEmpty()) {
+            String destination = operands.get(0).toLowerCase();
+            boolean arrayResult = instruction.getType() == Parser.InstructionType.ARRAY
+                    || (instruction.getType() == Parser.InstructionType.ASSIGN && operands.size() == 4
+                    && instruction.getCost() > 1 && !operands.get(1).equalsIgnoreCase("dot"));
+            if (arrayResult) {
+                accessLines(processId, destination, instruction.getCost());
+            } else if (instruction.getType() == Parser.InstructionType.PRINT) {
+                accessVariable(processId, destination, memory);
+            } else {
+                access(processId, destination);
+            }
+        }
+    }
+
+    // Accesses a scalar, or every line of an array
+    private void accessVariable(int processId, String variable, Memory memory) {
+        double[] array = memory.getArray(processId, variable);
+        if (array != null) {
+            accessLines(processId, variable, array.length);
+        } else {
+            access(processId, variable);
+        }
+    }
+
+    // Accesses the lines holding the given number of array elements
+    private void accessLines(int processId, String variable, int elements) {
+        int lines = (elements + DOUBLES_PER_LINE - 1) / DOUBLES_PER_LINE;
+        for (int line = 0; line < lines; line++) {
+            access(processId, variable, line);
+        }
+    }
+
+    /**
+     * Charges the base cycles of executing an instruction, on top of its memory accesses.
+     *
+     * @param elements the number of elements it processes (1 for scalar instructions)
+     */
+    public synchronized void countInstruction(int elements) {
+        instructions++;
+        cycles += elements;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized double getHitRate() {
+        long accesses = hits + misses;
+        return accesses == 0 ? 0.0 : (double) hits / accesses;
+    }
+
+    /**
+     * Returns the effective cycles per instruction, including memory stalls.
+     *
+     * @return the CPI, or 0 if no instructions were executed
+     */
+    public synchronized double getCyclesPerInstruction() {
+        return instructions == 0 ? 0.0 : (double) cycles / instructions;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("hits=%d, misses=%d, hitRate=%.2f%%, CPI=%.2f",
+                hits, misses, 100 * getHitRate(), getCyclesPerInstruction());
+    }
+}
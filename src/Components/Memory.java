@@ -1,15 +1,20 @@
 package Components;
 
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
 
 public class Memory {
     // Memory to store variables and their values for each process
     private Map<Integer, ConcurrentHashMap<String, Double>> processMemory;
+    // Array variables, each stored as one contiguous double[]
+    private Map<Integer, ConcurrentHashMap<String, double[]>> processArrays;
 
     public Memory() {
         // Initialize the process-specific memory
         processMemory = new ConcurrentHashMap<>();
+        processArrays = new ConcurrentHashMap<>();
     }
 
     /**
@@ -21,9 +26,56 @@ public class Memory {
      */
     public synchronized void assign(int processId, String variable, double value) {
         processMemory.computeIfAbsent(processId, k -> new ConcurrentHashMap<>()).put(variable, value);
+        Map<String, double[]> arrays = processArrays.get(processId);
+        if (arrays != null) {
+            arrays.remove(variable); // A scalar replaces an array of the same name
+        }
         System.out.println("Memory Update for Process " + processId + ": " + variable + " = " + value);
     }
 
+    /**
+     * Assigns an array to a variable in memory for a specific process.
+     *
+     * @param processId the process ID
+     * @param variable the variable name
+     * @param values the array to assign (stored without copying)
+     */
+    public synchronized void assignArray(int processId, String variable, double[] values) {
+        processArrays.computeIfAbsent(processId, k -> new ConcurrentHashMap<>()).put(variable, values);
+        Map<String, Double> memory = processMemory.get(processId);
+        if (memory != null) {
+            memory.remove(variable); // An array replaces a scalar of the same name
+        }
+        System.out.println("Memory Update for Process " + processId + ": " + variable + " = double[" + values.length + "]");
+    }
+
+    /**
+     * Retrieves an array variable from memory for a specific process.
+     *
+     * @param processId the process ID
+     * @param variable the variable name
+     * @return the array, or null if no array variable with that name exists
+     */
+    public double[] getArray(int processId, String variable) {
+        Map<String, double[]> arrays = processArrays.get(processId);
+        if (arrays != null) {
+            return arrays.get(variable);
+        }
+        return null;
+    }
+
+    /**
+     * Formats a scalar or array variable for printing.
+     *
+     * @param processId the process ID
+     * @param variable the variable name
+     * @return the formatted value, or "null" if the variable does not exist
+     */
+    public String format(int processId, String variable) {
+        double[] array = getArray(processId, variable);
+        return array != null ? Arrays.toString(array) : String.valueOf(get(processId, variable));
+    }
+
     /**
      * Retrieves the value of a variable from memory for a specific process.
      *
@@ -39,6 +91,34 @@ public class Memory {
         return null;
     }
 
+    /**
+     * Returns a copy of all variables currently held by a specific process.
+     *
+     * @param processId the process ID
+     * @return a snapshot of the process's variables (empty if it has none)
+     */
+    public synchronized Map<String, Double> snapshot(int processId) {
+        Map<String, Double> memory = processMemory.get(processId);
+        return memory != null ? new HashMap<>(memory) : new HashMap<>();
+    }
+
+    /**
+     * Returns a copy of all array variables currently held by a specific process.
+     *
+     * @param processId the process ID
+     * @return a snapshot of the process's arrays (empty if it has none)
+     */
+    public synchronized Map<String, double[]> snapshotArrays(int processId) {
+        Map<String, double[]> snapshot = new HashMap<>();
+        Map<String, double[]> arrays = processArrays.get(processId);
+        if (arrays != null) {
+            for (Map.Entry<String, double[]> entry : arrays.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().clone());
+            }
+        }
+        return snapshot;
+    }
+
     /**
      * Releases the memory for a specific process.
      *
@@ -46,6 +126,7 @@ public class Memory {
      */
     public synchronized void release(int processId) {
         processMemory.remove(processId);
+        processArrays.remove(processId);
         System.out.println("Memory released for Process " + processId);
     }
 
@@ -62,6 +143,12 @@ public class Memory {
                 System.out.println("  " + key + " = " + memory.get(key));
             }
         }
+        for (Map.Entry<Integer, ConcurrentHashMap<String, double[]>> entry : processArrays.entrySet()) {
+            System.out.println("Process " + entry.getKey() + " arrays:");
+            for (Map.Entry<String, double[]> array : entry.getValue().entrySet()) {
+                System.out.println("  " + array.getKey() + " = " + Arrays.toString(array.getValue()));
+            }
+        }
     }
 
     public boolean containsKey(int processId, String variable) {
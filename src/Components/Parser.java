@@ -7,17 +7,42 @@ public class Parser {
 
     // Instruction Types Enum
     public enum InstructionType {
-        ASSIGN, PRINT
+        ASSIGN, PRINT, ARRAY
     }
 
+    public static final int MAX_ARRAY_LENGTH = 1 << 20; // Longest array a program may declare (8 MB of doubles)
+
     // Represents a parsed instruction
+    // Instructions are immutable and may be shared by many processes (see ProgramImage)
     public static class Instruction {
-        private InstructionType type;
-        private List<String> operands;
+        private final InstructionType type;
+        private final List<String> operands;
+        private final int cost; // Burst time in time units (one per array element for bulk instructions)
 
         public Instruction(InstructionType type, List<String> operands) {
+            this(type, operands, 1);
+        }
+
+        /**
+         * Creates an instruction with a known burst time.
+         *
+         * @param type     the instruction type
+         * @param operands the operands, as written in the program
+         * @param cost     the burst time in time units
+         * @throws IllegalArgumentException if cost is not positive
+         */
+        public Instruction(InstructionType type, List<String> operands, int cost) {
+            if (cost <= 0) {
+                throw new IllegalArgumentException("Instruction cost must be greater than 0.");
+            }
             this.type = type;
-            this.operands = operands;
+            this.cost = cost;
+            // Compact immutable copy; interned operands are shared across all programs
+            String[] interned = new String[operands.size()];
+            for (int i = 0; i < interned.length; i++) {
+                interned[i] = operands.get(i).intern();
+            }
+            this.operands = List.of(interned);
         }
 
         public InstructionType getType() {
@@ -28,6 +53,23 @@ public class Parser {
             return operands;
         }
 
+        public int getCost() {
+            return cost;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Instruction)) return false;
+            Instruction other = (Instruction) o;
+            return type == other.type && cost == other.cost && operands.equals(other.operands);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, operands, cost);
+        }
+
         @Override
         public String toString() {
             return type + " " + operands;
@@ -67,7 +109,67 @@ public class Parser {
             }
         }
         reader.close();
-        return instructions;
+        return withCosts(instructions);
+    }
+
+    /**
+     * Returns a copy of a program in which each instruction carries its burst
+     * time, computed from the array lengths declared before it.
+     *
+     * @param instructions the instructions of a program, in order
+     * @return new instructions with their costs set
+     * @throws IllegalArgumentException if an array length is not between 1 and MAX_ARRAY_LENGTH
+     */
+    public static List<Instruction> withCosts(List<Instruction> instructions) {
+        List<Instruction> costed = new ArrayList<>(instructions.size());
+        Map<String, Integer> arrayLengths = new HashMap<>();
+        for (Instruction instruction : instructions) {
+            List<String> operands = instruction.getOperands();
+            String variable = operands.get(0).toLowerCase();
+            int length = 0;
+            if (instruction.getType() == InstructionType.ARRAY) {
+                if (!isValidArrayLength(operands.get(1))) {
+                    throw new IllegalArgumentException("Invalid array length " + operands.get(1) + " for " + variable
+                            + ": must be between 1 and " + MAX_ARRAY_LENGTH + ".");
+                }
+                length = Integer.parseInt(operands.get(1));
+                arrayLengths.put(variable, length);
+            } else if (instruction.getType() == InstructionType.ASSIGN) {
+                if (operands.size() == 3) {
+                    length = arrayLengths.getOrDefault(operands.get(2).toLowerCase(), 0);
+                } else if (operands.size() == 4) {
+                    length = Math.max(arrayLengths.getOrDefault(operands.get(2).toLowerCase(), 0),
+                            arrayLengths.getOrDefault(operands.get(3).toLowerCase(), 0));
+                }
+                if (length > 0 && operands.size() == 4 && !operands.get(1).equalsIgnoreCase("dot")) {
+                    arrayLengths.put(variable, length);
+                } else {
+                    arrayLengths.remove(variable);
+                }
+            }
+            costed.add(new Instruction(instruction.getType(), operands, Math.max(1, length)));
+        }
+        return costed;
+    }
+
+    /**
+     * Returns the total burst time of a program.
+     *
+     * @param instructions the instructions of the program
+     * @return the sum of their costs
+     * @throws IllegalArgumentException if the total does not fit in an int
+     */
+    public static int getBurstTime(List<Instruction> instructions) {
+        int burstTime = 0;
+        for (Instruction instruction : instructions) {
+            try {
+                burstTime = Math.addExact(burstTime, instruction.getCost());
+            } catch (ArithmeticException e) {
+                throw new IllegalArgumentException("Program is too long: its burst time exceeds "
+                        + Integer.MAX_VALUE + " time units.");
+            }
+        }
+        return burstTime;
     }
 
     // Parses a single line into an Instruction
@@ -76,7 +178,7 @@ public class Parser {
         if (parts.length < 2) return null;
 
         String command = parts[0].toUpperCase();
-        List<String> operands = new ArrayList<>(Arrays.asList(parts).subList(1, parts.length));
+        List<String> operands = Arrays.asList(parts).subList(1, parts.length);
 
         switch (command) {
             case "ASSIGN":
@@ -87,7 +189,26 @@ public class Parser {
                         return null;
                     }
                 }
+                if (operands.size() == 3 && !operands.get(1).equalsIgnoreCase("sum")) {
+                    System.err.println("Invalid operation: " + operands.get(1));
+                    return null;
+                }
                 return new Instruction(InstructionType.ASSIGN, operands);
+            case "ARRAY":
+                // array <name> <length> [<fill variable>]
+                if (operands.size() < 2 || operands.size() > 3) {
+                    System.err.println("Invalid array declaration: " + line);
+                    return null;
+                }
+                if (!isValidArrayLength(operands.get(1))) {
+                    System.err.println("Invalid array length (must be between 1 and " + MAX_ARRAY_LENGTH + "): " + line);
+                    return null;
+                }
+                if (operands.size() == 3 && !isIdentifier(operands.get(2))) {
+                    System.err.println("Invalid array fill (must be a scalar variable): " + line);
+                    return null;
+                }
+                return new Instruction(InstructionType.ARRAY, operands);
             case "PRINT":
                 return new Instruction(InstructionType.PRINT, operands);
             default:
@@ -98,16 +219,114 @@ public class Parser {
 
     // Checks if the operation is valid
     private static boolean isValidOperation(String operation) {
+        return isElementwiseOperation(operation) || operation.equals("dot");
+    }
+
+    // Checks if the operation can be applied element by element to arrays
+    private static boolean isElementwiseOperation(String operation) {
         return operation.equals("add") || operation.equals("multiply") || operation.equals("divide") || operation.equals("subtract");
     }
 
+    // Checks if a string is an integer literal between 1 and MAX_ARRAY_LENGTH
+    private static boolean isValidArrayLength(String value) {
+        try {
+            int length = Integer.parseInt(value);
+            return length > 0 && length <= MAX_ARRAY_LENGTH;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // Checks if a string is a variable name: a letter or underscore, then letters, digits or underscores
+    private static boolean isIdentifier(String value) {
+        return value.matches("[A-Za-z_][A-Za-z0-9_]*");
+    }
+
+    /**
+     * Checks if an instruction produces an array: an array declaration, or an
+     * element-wise operation with at least one array operand.
+     *
+     * @param instruction the instruction
+     * @param memory      the memory holding the process's variables
+     * @param processId   the process ID
+     * @return true if the instruction must be run with executeArrayInstruction
+     */
+    public static boolean isArrayInstruction(Instruction instruction, Memory memory, int processId) {
+        if (instruction.getType() == InstructionType.ARRAY) {
+            return true;
+        }
+        List<String> operands = instruction.getOperands();
+        return instruction.getType() == InstructionType.ASSIGN && operands.size() == 4
+                && isElementwiseOperation(operands.get(1).toLowerCase())
+                && (memory.getArray(processId, operands.get(2).toLowerCase()) != null
+                || memory.getArray(processId, operands.get(3).toLowerCase()) != null);
+    }
+
+    /**
+     * Executes an instruction that produces an array and stores the result in memory.
+     * A scalar operand of an element-wise operation is broadcast to every element.
+     *
+     * @param instruction the instruction (see isArrayInstruction)
+     * @param memory      the memory holding the process's variables
+     * @param processId   the process ID
+     * @throws IllegalArgumentException if an operand is missing or the lengths differ
+     */
+    public static void executeArrayInstruction(Instruction instruction, Memory memory, int processId) {
+        List<String> operands = instruction.getOperands();
+        String variable = operands.get(0).toLowerCase();
+        if (instruction.getType() == InstructionType.ARRAY) {
+            double[] values = new double[Integer.parseInt(operands.get(1))];
+            if (operands.size() == 3) {
+                Arrays.fill(values, getScalar(operands.get(2).toLowerCase(), memory, processId));
+            }
+            memory.assignArray(processId, variable, values);
+            return;
+        }
+
+        double[] a = memory.getArray(processId, operands.get(2).toLowerCase());
+        double[] b = memory.getArray(processId, operands.get(3).toLowerCase());
+        if (a == null) {
+            a = new double[b.length];
+            Arrays.fill(a, getScalar(operands.get(2).toLowerCase(), memory, processId));
+        } else if (b == null) {
+            b = new double[a.length];
+            Arrays.fill(b, getScalar(operands.get(3).toLowerCase(), memory, processId));
+        }
+        memory.assignArray(processId, variable, VectorOps.elementwise(operands.get(1).toLowerCase(), a, b));
+    }
+
+    // Retrieves a scalar variable, failing if it does not exist
+    private static double getScalar(String variable, Memory memory, int processId) {
+        Double value = memory.get(processId, variable);
+        if (value == null) {
+            throw new IllegalArgumentException("Variable " + variable + " does not exist in memory.");
+        }
+        return value;
+    }
+
+    // Retrieves an array variable, failing if it does not exist
+    private static double[] getArray(String variable, Memory memory, int processId) {
+        double[] values = memory.getArray(processId, variable);
+        if (values == null) {
+            throw new IllegalArgumentException("Array " + variable + " does not exist in memory.");
+        }
+        return values;
+    }
+
     // Evaluates an expression
     public static double evaluateExpression(List<String> operands, Memory memory, int processId) {
+    if (operands.size() == 3 && operands.get(1).equalsIgnoreCase("sum")) {
+        return VectorOps.sum(getArray(operands.get(2).toLowerCase(), memory, processId));
+    }
     if (operands.size() == 4) {
         String operation = operands.get(1).toLowerCase();
         String var1 = operands.get(2).toLowerCase();
         String var2 = operands.get(3).toLowerCase();
 
+        if (operation.equals("dot")) {
+            return VectorOps.dot(getArray(var1, memory, processId), getArray(var2, memory, processId));
+        }
+
         Double operand1 = memory.get(processId, var1);
         Double operand2 = memory.get(processId, var2);
 
@@ -3,20 +3,22 @@ package Components;
 import java.util.List;
 
 public class ProcessControlBlock {
+    // Process states
+    public enum State {
+        READY, RUNNING, TERMINATED
+    }
+
+    private static final State[] STATES = State.values();
+
     private final int processId; // Unique ID for the process (immutable)
     private int programCounter; // Tracks the current instruction
     private final int memoryStart; // Start address in memory
     private final int memoryEnd; // End address in memory
-    private String state; // Process state (READY, RUNNING, TERMINATED)
-    private int priority; // Priority of the process (optional, for future use)
+    private byte state; // Process state, stored as the State ordinal
+    private int priority; // Priority of the process; higher values are favoured by the priority and stride schedulers
     private int burstTime; // Remaining CPU burst time
     private final int arrivalTime; // Time at which the process arrived
-    private List<Parser.Instruction> instructions; // List of instructions for the process
-
-    // Constants for process states
-    public static final String STATE_READY = "READY";
-    public static final String STATE_RUNNING = "RUNNING";
-    public static final String STATE_TERMINATED = "TERMINATED";
+    private ProgramImage program; // Shared, immutable program image
 
     /**
      * Constructor to initialize a new PCB.
@@ -26,10 +28,10 @@ public class ProcessControlBlock {
      * @param memoryEnd    the end address of the process's memory
      * @param burstTime    the CPU burst time for the process
      * @param arrivalTime  the arrival time of the process
-     * @param instructions the list of instructions for the process
+     * @param program      the shared program image the process runs
      * @throws IllegalArgumentException if invalid values are provided
      */
-    public ProcessControlBlock(int processId, int memoryStart, int memoryEnd, int burstTime, int arrivalTime, List<Parser.Instruction> instructions) {
+    public ProcessControlBlock(int processId, int memoryStart, int memoryEnd, int burstTime, int arrivalTime, ProgramImage program) {
         if (memoryStart >= memoryEnd) {
             throw new IllegalArgumentException("Memory start address must be less than memory end address.");
         }
@@ -46,9 +48,9 @@ public class ProcessControlBlock {
         this.burstTime = burstTime;
         this.arrivalTime = arrivalTime;
         this.programCounter = 0; // Start at the first instruction
-        this.state = STATE_READY; // Initial state is READY
+        this.state = (byte) State.READY.ordinal(); // Initial state is READY
         this.priority = 0; // Default priority (can be adjusted later)
-        this.instructions = instructions; // Initialize the instructions field
+        this.program = program; // Referenced, not copied
     }
 
     // Getter methods
@@ -68,8 +70,8 @@ public class ProcessControlBlock {
         return memoryEnd;
     }
 
-    public String getState() {
-        return state;
+    public State getState() {
+        return STATES[state];
     }
 
     public int getPriority() {
@@ -84,8 +86,12 @@ public class ProcessControlBlock {
         return arrivalTime;
     }
 
+    public ProgramImage getProgram() {
+        return program;
+    }
+
     public List<Parser.Instruction> getInstructions() {
-        return instructions;
+        return program.getInstructions();
     }
 
     // Setter methods
@@ -93,11 +99,11 @@ public class ProcessControlBlock {
         this.programCounter = programCounter;
     }
 
-    public void setState(String state) {
-        if (!state.equals(STATE_READY) && !state.equals(STATE_RUNNING) && !state.equals(STATE_TERMINATED)) {
-            throw new IllegalArgumentException("Invalid state: " + state);
+    public void setState(State state) {
+        if (state == null) {
+            throw new IllegalArgumentException("Invalid state: null");
         }
-        this.state = state;
+        this.state = (byte) state.ordinal();
     }
 
     public void setPriority(int priority) {
@@ -111,8 +117,8 @@ public class ProcessControlBlock {
         this.burstTime = burstTime;
     }
 
-    public void setInstructions(List<Parser.Instruction> instructions) {
-        this.instructions = instructions;
+    public void setProgram(ProgramImage program) {
+        this.program = program;
     }
 
     // Utility methods
@@ -132,8 +138,8 @@ public class ProcessControlBlock {
     }
 
     public Parser.Instruction getNextInstruction() {
-        if (programCounter < instructions.size()) {
-            return instructions.get(programCounter++);
+        if (programCounter < program.size()) {
+            return program.getInstruction(programCounter++);
         }
         return null;
     }
@@ -145,15 +151,15 @@ public class ProcessControlBlock {
                 ", programCounter=" + programCounter +
                 ", memoryStart=" + memoryStart +
                 ", memoryEnd=" + memoryEnd +
-                ", state='" + state + '\'' +
+                ", state=" + getState() +
                 ", priority=" + priority +
                 ", burstTime=" + burstTime +
                 ", arrivalTime=" + arrivalTime +
-                ", instructions=" + instructions +
+                ", program=" + program +
                 '}';
     }
 
     public boolean hasMoreInstructions() {
-        return programCounter < instructions.size();
+        return programCounter < program.size();
     }
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package Components;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+// Immutable program shared by every process running it; images are created through a ProgramTable
+public final class ProgramImage {
+    private final String name; // Source file path, or a placeholder for programs built in code
+    private final List<Parser.Instruction> instructions; // Immutable view over a single array
+    private final int burstTime; // Total burst time, computed once
+    private final Set<String> inputVariables; // Variables read by "assign <var> input", lower case
+
+    ProgramImage(String name, Parser.Instruction[] instructions) {
+        this.name = name;
+        this.instructions = Collections.unmodifiableList(Arrays.asList(instructions));
+        this.burstTime = Parser.getBurstTime(this.instructions);
+
+        Set<String> inputs = new LinkedHashSet<>();
+        for (Parser.Instruction instruction : instructions) {
+            List<String> operands = instruction.getOperands();
+            if (instruction.getType() == Parser.InstructionType.ASSIGN && operands.size() == 2
+                    && operands.get(1).equalsIgnoreCase("input")) {
+                inputs.add(operands.get(0).toLowerCase());
+            }
+        }
+        this.inputVariables = Collections.unmodifiableSet(inputs);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Parser.Instruction> getInstructions() {
+        return instructions;
+    }
+
+    public int size() {
+        return instructions.size();
+    }
+
+    public Parser.Instruction getInstruction(int index) {
+        return instructions.get(index);
+    }
+
+    public int getBurstTime() {
+        return burstTime;
+    }
+
+    public Set<String> getInputVariables() {
+        return inputVariables;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + instructions.size() + " instructions)";
+    }
+}
@@ -0,0 +1,95 @@
+package Components;
+
+import java.io.IOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProgramTable {
+    // Table entry. Images are held weakly: the PCBs running a program keep its image alive,
+    // and once none are left the image is collected and its entries are purged.
+    private static final class ImageReference extends WeakReference<ProgramImage> {
+        private final Map<?, ImageReference> table; // The map this entry belongs to
+        private final Object key;
+
+        ImageReference(ProgramImage image, Map<?, ImageReference> table, Object key, ReferenceQueue<ProgramImage> queue) {
+            super(image, queue);
+            this.table = table;
+            this.key = key;
+        }
+    }
+
+    // Interned images, shared by every process running the same program
+    private final Map<List<Parser.Instruction>, ImageReference> imagesByContent = new HashMap<>();
+    private final Map<String, ImageReference> imagesByPath = new HashMap<>();
+    private final ReferenceQueue<ProgramImage> collected = new ReferenceQueue<>(); // Entries whose image is gone
+
+    /**
+     * Parses a program file once and returns the shared image for it. The file
+     * is parsed again if the image was collected in the meantime.
+     *
+     * @param filePath the path of the program file
+     * @return the interned image
+     * @throws IOException if the file cannot be read
+     */
+    public synchronized ProgramImage load(String filePath) throws IOException {
+        purge();
+        ProgramImage image = get(imagesByPath, filePath);
+        if (image == null) {
+            image = intern(filePath, Parser.parseProgramFile(filePath));
+            imagesByPath.put(filePath, new ImageReference(image, imagesByPath, filePath, collected));
+        }
+        return image;
+    }
+
+    /**
+     * Returns the shared image for a list of instructions. Programs with equal
+     * instructions map to the same image. Instruction costs are recomputed, so
+     * programs built in code get the same burst times as parsed ones.
+     *
+     * @param instructions the parsed instructions
+     * @return the interned image
+     */
+    public synchronized ProgramImage intern(List<Parser.Instruction> instructions) {
+        purge();
+        return intern("<anonymous>", instructions);
+    }
+
+    /**
+     * Returns the number of programs whose images are still in the table.
+     *
+     * @return the entry count, including images collected but not yet purged
+     */
+    public synchronized int size() {
+        purge();
+        return imagesByContent.size();
+    }
+
+    private ProgramImage intern(String name, List<Parser.Instruction> instructions) {
+        List<Parser.Instruction> key = Parser.withCosts(instructions);
+        ProgramImage image = get(imagesByContent, key);
+        if (image == null) {
+            image = new ProgramImage(name, key.toArray(new Parser.Instruction[0]));
+            imagesByContent.put(key, new ImageReference(image, imagesByContent, key, collected));
+        }
+        return image;
+    }
+
+    // Returns the live image stored under a key, or null
+    private static <K> ProgramImage get(Map<K, ImageReference> table, K key) {
+        ImageReference reference = table.get(key);
+        return reference != null ? reference.get() : null;
+    }
+
+    // Drops the entries of collected images; an entry replaced since then is left alone
+    private void purge() {
+        Reference<? extends ProgramImage> reference;
+        while ((reference = collected.poll()) != null) {
+            ImageReference entry = (ImageReference) reference;
+            entry.table.remove(entry.key, entry);
+        }
+    }
+}
@@ -1,15 +1,19 @@
 package Components;
 
-import java.util.LinkedList;
-import java.util.Queue;
+import Scheduling.FifoScheduler;
+import Scheduling.Scheduler;
 
 public class ReadyQueue {
-    // Queue to store processes
-    private final Queue<ProcessControlBlock> queue;
+    // Scheduling policy that stores the processes and picks the next one
+    private final Scheduler scheduler;
 
     public ReadyQueue() {
-        // Initialize the queue
-        queue = new LinkedList<>();
+        // First come, first served by default
+        this(new FifoScheduler());
+    }
+
+    public ReadyQueue(Scheduler scheduler) {
+        this.scheduler = scheduler;
     }
 
     /**
@@ -18,19 +22,19 @@ public class ReadyQueue {
      * @param pcb the process control block representing the process
      */
     public synchronized void enqueue(ProcessControlBlock pcb) {
-        queue.offer(pcb);
+        scheduler.add(pcb);
         System.out.println("[ReadyQueue] Process added: " + pcb + "\n");
         notifyAll(); // Notify any waiting threads that a process is available
     }
 
     /**
-     * Retrieves and removes the next process from the ready queue.
+     * Retrieves and removes the process chosen by the scheduler.
      * If the queue is empty, this method will wait until a process is available.
      *
      * @return the next process control block
      */
     public synchronized ProcessControlBlock dequeue() {
-        while (queue.isEmpty()) {
+        while (scheduler.isEmpty()) {
             try {
                 System.out.println("[ReadyQueue] Queue is empty. Waiting for processes...");
                 wait(); // Wait until a process is added
@@ -40,18 +44,47 @@ public class ReadyQueue {
                 return null; // Return null if interrupted
             }
         }
-        ProcessControlBlock pcb = queue.poll();
+        ProcessControlBlock pcb = scheduler.poll();
         System.out.println("[ReadyQueue] Process removed: " + pcb + "\n");
         return pcb;
     }
 
+    /**
+     * Retrieves and removes the process chosen by the scheduler without waiting.
+     *
+     * @return the next process control block, or null if the queue is empty
+     */
+    public synchronized ProcessControlBlock poll() {
+        return scheduler.isEmpty() ? null : dequeue();
+    }
+
+    /**
+     * Asks the scheduler whether a running process should be preempted.
+     *
+     * @param running the running process
+     * @param ranFor  the time units it has run since it was dispatched
+     * @return true if it should be put back into the ready queue
+     */
+    public synchronized boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        return scheduler.shouldPreempt(running, ranFor);
+    }
+
+    /**
+     * Tells the scheduler that a process has terminated.
+     *
+     * @param processId the ID of the terminated process
+     */
+    public synchronized void onComplete(int processId) {
+        scheduler.onComplete(processId);
+    }
+
     /**
      * Checks if the ready queue is empty.
      *
      * @return true if the queue is empty, false otherwise
      */
     public synchronized boolean isEmpty() {
-        return queue.isEmpty();
+        return scheduler.isEmpty();
     }
 
     /**
@@ -59,16 +92,16 @@ public class ReadyQueue {
      */
     public synchronized void displayQueue() {
         System.out.println("[ReadyQueue] Current queue state:");
-        if (queue.isEmpty()) {
+        if (scheduler.isEmpty()) {
             System.out.println("[ReadyQueue] The queue is empty.");
         } else {
-            for (ProcessControlBlock pcb : queue) {
+            for (ProcessControlBlock pcb : scheduler.processes()) {
                 System.out.println("  " + pcb);
             }
         }
     }
 
-    public String peek() {
-        return queue.peek().toString();
+    public synchronized String peek() {
+        return scheduler.peek().toString();
     }
 }
@@ -0,0 +1,129 @@
+package Components;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class TraceRecorder implements AutoCloseable {
+    // Event types written to the trace
+    public enum EventType {
+        DISPATCH, EXECUTE, MEMORY_WRITE, COMPLETE, PREEMPT
+    }
+
+    // What record timestamps measure
+    public enum Clock {
+        NANO_TIME, // System.nanoTime(), for the threaded kernel
+        CLOCK_CYCLES // Simulated clock cycles supplied by the caller, for deterministic tick-engine traces
+    }
+
+    // File layout: header followed by a ring of fixed-size records
+    public static final int MAGIC = 0x4D535452; // "MSTR"
+    public static final int HEADER_SIZE = 24; // magic (4) + capacity (4) + total records written (8) + clock (4) + padding (4)
+    public static final int RECORD_SIZE = 32; // timestamp (8) + event (4) + core (4) + process (4) + pc (4) + value (8)
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity; // Number of records the ring can hold
+    private final Clock clock; // What the timestamps measure
+    private long sequence; // Total number of records written so far
+
+    /**
+     * Opens (or creates) a trace whose records are stamped with System.nanoTime().
+     *
+     * @param path     the trace file path
+     * @param capacity the number of records kept in the ring
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public TraceRecorder(Path path, int capacity) throws IOException {
+        this(path, capacity, Clock.NANO_TIME);
+    }
+
+    /**
+     * Opens (or creates) a memory-mapped ring file for recording trace events.
+     * Once the ring is full, the oldest records are overwritten.
+     *
+     * @param path     the trace file path
+     * @param capacity the number of records kept in the ring
+     * @param clock    what the record timestamps measure
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public TraceRecorder(Path path, int capacity, Clock clock) throws IOException {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Trace capacity must be greater than 0.");
+        }
+        this.capacity = capacity;
+        this.clock = clock;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, capacity);
+        buffer.putLong(8, 0L);
+        buffer.putInt(16, clock.ordinal());
+    }
+
+    /**
+     * Records a single event stamped with the current time.
+     *
+     * @param event     the event type
+     * @param coreId    the core the event happened on
+     * @param processId the process the event belongs to
+     * @param pc        the program counter of the instruction involved (or -1)
+     * @param value     the value written, if any
+     * @throws IllegalStateException if the trace records clock cycles
+     */
+    public void record(EventType event, int coreId, int processId, int pc, double value) {
+        if (clock != Clock.NANO_TIME) {
+            throw new IllegalStateException("Trace records " + clock + "; pass the timestamp explicitly.");
+        }
+        record(event, coreId, processId, pc, value, System.nanoTime());
+    }
+
+    /**
+     * Records a single event with a caller-supplied timestamp.
+     *
+     * @param event     the event type
+     * @param coreId    the core the event happened on
+     * @param processId the process the event belongs to
+     * @param pc        the program counter of the instruction involved (or -1)
+     * @param value     the value written, if any
+     * @param timestamp the time of the event, in the unit of this trace's clock
+     */
+    public synchronized void record(EventType event, int coreId, int processId, int pc, double value, long timestamp) {
+        int offset = HEADER_SIZE + (int) (sequence % capacity) * RECORD_SIZE;
+        buffer.putLong(offset, timestamp);
+        buffer.putInt(offset + 8, event.ordinal());
+        buffer.putInt(offset + 12, coreId);
+        buffer.putInt(offset + 16, processId);
+        buffer.putInt(offset + 20, pc);
+        buffer.putDouble(offset + 24, value);
+        sequence++;
+        buffer.putLong(8, sequence);
+    }
+
+    /**
+     * Returns the total number of records written, including overwritten ones.
+     *
+     * @return the record count
+     */
+    public synchronized long getSequence() {
+        return sequence;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Flushes the trace to disk and releases the file.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+}
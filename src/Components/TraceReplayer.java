@@ -0,0 +1,273 @@
+package Components;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+public class TraceReplayer {
+
+    // Represents a single decoded trace record
+    public static class TraceEvent {
+        private final long timestamp;
+        private final TraceRecorder.EventType type;
+        private final int coreId;
+        private final int processId;
+        private final int pc;
+        private final double value;
+        private final TraceRecorder.Clock clock; // What the timestamp measures
+
+        public TraceEvent(long timestamp, TraceRecorder.EventType type, int coreId, int processId, int pc, double value) {
+            this(timestamp, type, coreId, processId, pc, value, TraceRecorder.Clock.NANO_TIME);
+        }
+
+        public TraceEvent(long timestamp, TraceRecorder.EventType type, int coreId, int processId, int pc, double value,
+                          TraceRecorder.Clock clock) {
+            this.timestamp = timestamp;
+            this.clock = clock;
+            this.type = type;
+            this.coreId = coreId;
+            this.processId = processId;
+            this.pc = pc;
+            this.value = value;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public TraceRecorder.EventType getType() {
+            return type;
+        }
+
+        public int getCoreId() {
+            return coreId;
+        }
+
+        public int getProcessId() {
+            return processId;
+        }
+
+        public int getPc() {
+            return pc;
+        }
+
+        public double getValue() {
+            return value;
+        }
+
+        public TraceRecorder.Clock getClock() {
+            return clock;
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + " " + type + " core=" + coreId + " process=" + processId + " pc=" + pc + " value=" + value;
+        }
+    }
+
+    /**
+     * Reads all surviving records from a trace file, oldest first. Prints a
+     * warning if the ring has wrapped and the oldest records were overwritten.
+     *
+     * @param path the trace file path
+     * @return the decoded events in recording order
+     * @throws IOException if the file cannot be read or is not a trace
+     */
+    public static List<TraceEvent> read(Path path) throws IOException {
+        return read(path, false);
+    }
+
+    /**
+     * Reads all surviving records from a trace file, oldest first.
+     *
+     * @param path            the trace file path
+     * @param requireComplete if true, fail when the ring has wrapped, since a
+     *                        partial trace cannot be replayed from the start
+     * @return the decoded events in recording order
+     * @throws IOException if the file cannot be read, is not a trace, holds an
+     *                     unknown event type, or has wrapped while requireComplete is set
+     */
+    public static List<TraceEvent> read(Path path, boolean requireComplete) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt(0) != TraceRecorder.MAGIC) {
+                throw new IOException("Not a trace file: " + path);
+            }
+            int capacity = buffer.getInt(4);
+            long sequence = buffer.getLong(8);
+            TraceRecorder.EventType[] types = TraceRecorder.EventType.values();
+            TraceRecorder.Clock[] clocks = TraceRecorder.Clock.values();
+            int clockOrdinal = buffer.getInt(16);
+            if (clockOrdinal < 0 || clockOrdinal >= clocks.length) {
+                throw new IOException("Unknown trace clock " + clockOrdinal + " in " + path);
+            }
+            TraceRecorder.Clock clock = clocks[clockOrdinal];
+            if (sequence > capacity) {
+                String message = "Trace ring wrapped: " + (sequence - capacity) + " of " + sequence
+                        + " records were overwritten in " + path;
+                if (requireComplete) {
+                    throw new IOException(message + "; record with a larger capacity to replay it.");
+                }
+                System.err.println("[TraceReplayer] Warning: " + message + ".");
+            }
+
+            List<TraceEvent> events = new ArrayList<>();
+            for (long i = Math.max(0, sequence - capacity); i < sequence; i++) {
+                int offset = TraceRecorder.HEADER_SIZE + (int) (i % capacity) * TraceRecorder.RECORD_SIZE;
+                int type = buffer.getInt(offset + 8);
+                if (type < 0 || type >= types.length) {
+                    throw new IOException("Unknown event type " + type + " in record " + i + " of " + path);
+                }
+                events.add(new TraceEvent(
+                        buffer.getLong(offset),
+                        types[type],
+                        buffer.getInt(offset + 12),
+                        buffer.getInt(offset + 16),
+                        buffer.getInt(offset + 20),
+                        buffer.getDouble(offset + 24),
+                        clock));
+            }
+            return events;
+        }
+    }
+
+    /**
+     * Re-executes a trace against a fresh memory in the exact recorded order.
+     * Input values are taken from the trace; computed values are re-evaluated
+     * and compared with the recorded ones. The trace must be complete (see
+     * read(Path, boolean)); a wrapped trace reports spurious divergences.
+     *
+     * @param events   the recorded events
+     * @param programs the instructions of each process, keyed by process ID
+     * @param memory   the memory to replay into
+     * @return the number of memory writes that diverged from the trace
+     */
+    public static int replay(List<TraceEvent> events, Map<Integer, List<Parser.Instruction>> programs, Memory memory) {
+        int divergences = 0;
+        for (TraceEvent event : events) {
+            switch (event.getType()) {
+                case MEMORY_WRITE:
+                    List<Parser.Instruction> instructions = programs.get(event.getProcessId());
+                    if (instructions == null || event.getPc() < 0 || event.getPc() >= instructions.size()) {
+                        System.err.println("[TraceReplayer] No instruction for event: " + event);
+                        divergences++;
+                        break;
+                    }
+                    Parser.Instruction instruction = instructions.get(event.getPc());
+                    if (Parser.isArrayInstruction(instruction, memory, event.getProcessId())) {
+                        try {
+                            Parser.executeArrayInstruction(instruction, memory, event.getProcessId());
+                        } catch (IllegalArgumentException e) {
+                            System.err.println("[TraceReplayer] " + e.getMessage());
+                            divergences++;
+                        }
+                        break;
+                    }
+                    List<String> operands = instruction.getOperands();
+                    String variable = operands.get(0).toLowerCase();
+                    double value = event.getValue();
+                    if (operands.size() >= 3) {
+                        try {
+                            value = Parser.evaluateExpression(operands, memory, event.getProcessId());
+                            if (Double.compare(value, event.getValue()) != 0) {
+                                System.out.println("[TraceReplayer] Divergence at " + event + ": replayed value " + value);
+                                divergences++;
+                            }
+                        } catch (IllegalArgumentException e) {
+                            // The write cannot be recomputed; keep the recorded value so later writes can still replay
+                            System.out.println("[TraceReplayer] Divergence at " + event + ": " + e.getMessage());
+                            divergences++;
+                        }
+                    }
+                    memory.assign(event.getProcessId(), variable, value);
+                    break;
+                case COMPLETE:
+                    memory.release(event.getProcessId());
+                    break;
+                default:
+                    break;
+            }
+        }
+        return divergences;
+    }
+
+    /**
+     * Compares scheduling decisions and per-process latency of two traces,
+     * e.g. recorded from two different builds running the same workload.
+     *
+     * @param baseline  the events of the reference run
+     * @param candidate the events of the run under test
+     */
+    public static void diff(List<TraceEvent> baseline, List<TraceEvent> candidate) {
+        List<Integer> baselineOrder = dispatchOrder(baseline);
+        List<Integer> candidateOrder = dispatchOrder(candidate);
+        System.out.println("[TraceReplayer] Dispatch order: " + baselineOrder + " -> " + candidateOrder
+                + (baselineOrder.equals(candidateOrder) ? " (same)" : " (changed)"));
+
+        Map<Integer, Integer> baselineCores = dispatchCores(baseline);
+        Map<Integer, Integer> candidateCores = dispatchCores(candidate);
+        Map<Integer, Long> baselineLatency = latencies(baseline);
+        Map<Integer, Long> candidateLatency = latencies(candidate);
+        TraceRecorder.Clock clock = baseline.isEmpty() ? TraceRecorder.Clock.NANO_TIME : baseline.get(0).getClock();
+        if (!candidate.isEmpty() && candidate.get(0).getClock() != clock) {
+            System.out.println("[TraceReplayer] Warning: traces use different clocks (" + clock + " vs "
+                    + candidate.get(0).getClock() + "); latencies are not comparable.");
+        }
+
+        Set<Integer> processIds = new TreeSet<>(baselineCores.keySet());
+        processIds.addAll(candidateCores.keySet());
+        for (int processId : processIds) {
+            Long before = baselineLatency.get(processId);
+            Long after = candidateLatency.get(processId);
+            String latency = (before == null || after == null) ? "n/a"
+                    : formatTime(before, clock) + " -> " + formatTime(after, clock) + String.format(" (%+.1f%%)",
+                    before == 0 ? 0.0 : 100.0 * (after - before) / before);
+            System.out.println("  Process " + processId + ": core " + baselineCores.get(processId)
+                    + " -> " + candidateCores.get(processId) + ", latency " + latency);
+        }
+    }
+
+    // Formats a duration in the unit of the trace's clock
+    private static String formatTime(long time, TraceRecorder.Clock clock) {
+        return clock == TraceRecorder.Clock.NANO_TIME ? String.format("%.3f ms", time / 1e6) : time + " cycles";
+    }
+
+    // Returns process IDs in the order they were dispatched
+    private static List<Integer> dispatchOrder(List<TraceEvent> events) {
+        List<Integer> order = new ArrayList<>();
+        for (TraceEvent event : events) {
+            if (event.getType() == TraceRecorder.EventType.DISPATCH) {
+                order.add(event.getProcessId());
+            }
+        }
+        return order;
+    }
+
+    // Returns the core each process was last dispatched to
+    private static Map<Integer, Integer> dispatchCores(List<TraceEvent> events) {
+        Map<Integer, Integer> cores = new HashMap<>();
+        for (TraceEvent event : events) {
+            if (event.getType() == TraceRecorder.EventType.DISPATCH) {
+                cores.put(event.getProcessId(), event.getCoreId());
+            }
+        }
+        return cores;
+    }
+
+    // Returns the time from first dispatch to completion for each process
+    private static Map<Integer, Long> latencies(List<TraceEvent> events) {
+        Map<Integer, Long> dispatched = new HashMap<>();
+        Map<Integer, Long> latencies = new HashMap<>();
+        for (TraceEvent event : events) {
+            if (event.getType() == TraceRecorder.EventType.DISPATCH) {
+                dispatched.putIfAbsent(event.getProcessId(), event.getTimestamp());
+            } else if (event.getType() == TraceRecorder.EventType.COMPLETE && dispatched.containsKey(event.getProcessId())) {
+                latencies.put(event.getProcessId(), event.getTimestamp() - dispatched.get(event.getProcessId()));
+            }
+        }
+        return latencies;
+    }
+}
@@ -0,0 +1,98 @@
+package Components;
+
+public class VectorOps {
+    // Element-wise loops are kept branch-free with the operation hoisted out,
+    // so the JIT can compile them to SIMD instructions.
+
+    private VectorOps() {
+    }
+
+    /**
+     * Applies an arithmetic operation element by element.
+     *
+     * @param operation one of add, subtract, multiply, divide
+     * @param a         the left operand
+     * @param b         the right operand (same length as a)
+     * @return a new array holding the results
+     * @throws IllegalArgumentException if the lengths differ or the operation is unknown
+     */
+    public static double[] elementwise(String operation, double[] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Array lengths differ: " + a.length + " and " + b.length + ".");
+        }
+        double[] out = new double[a.length];
+        switch (operation) {
+            case "add":
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = a[i] + b[i];
+                }
+                break;
+            case "subtract":
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = a[i] - b[i];
+                }
+                break;
+            case "multiply":
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = a[i] * b[i];
+                }
+                break;
+            case "divide":
+                for (int i = 0; i < out.length; i++) {
+                    out[i] = a[i] / b[i];
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Invalid operation: " + operation);
+        }
+        return out;
+    }
+
+    /**
+     * Sums all elements of an array.
+     *
+     * @param a the array
+     * @return the sum of its elements
+     */
+    public static double sum(double[] a) {
+        // Independent accumulators break the loop-carried dependency
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < a.length; i += 4) {
+            s0 += a[i];
+            s1 += a[i + 1];
+            s2 += a[i + 2];
+            s3 += a[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Computes the dot product of two arrays.
+     *
+     * @param a the first array
+     * @param b the second array (same length as a)
+     * @return the dot product
+     * @throws IllegalArgumentException if the lengths differ
+     */
+    public static double dot(double[] a, double[] b) {
+        if (a.length != b.length) {
+            throw new IllegalArgumentException("Array lengths differ: " + a.length + " and " + b.length + ".");
+        }
+        double s0 = 0, s1 = 0, s2 = 0, s3 = 0;
+        int i = 0;
+        for (; i + 3 < a.length; i += 4) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < a.length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+}
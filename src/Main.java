@@ -1,37 +1,116 @@
 // Main.java
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 import Components.*;
 import MasterSlaveArchitecture.*;
+import Scheduling.SchedulerType;
 
 public class Main {
+    private static final int TRACE_CAPACITY = 1 << 16; // Records kept in the trace ring file
+    // Simulated per-core cache used with --cache: 64 lines, 4-way, 1-cycle hits, 10-cycle misses
+    private static final int CACHE_SIZE = 64;
+    private static final int CACHE_ASSOCIATIVITY = 4;
+    private static final int CACHE_HIT_CYCLES = 1;
+    private static final int CACHE_MISS_CYCLES = 10;
+    // Default priorities of Program_1..3, used by the priority and stride schedulers (higher runs first)
+    private static final int[] DEFAULT_PRIORITIES = {2, 3, 1};
+
     public static void main(String[] args) {
         List<String> filePaths = List.of("src/SourceFiles/Program_1.txt",
                 "src/SourceFiles/Program_2.txt", "src/SourceFiles/Program_3.txt");
-        runSimulation(filePaths);
+
+        // Optional scheduling policy: --scheduler <fifo|sjf|srtf|priority|mlfq|stride> (default sjf)
+        SchedulerType schedulerType = SchedulerType.SJF;
+        List<String> options = new ArrayList<>(Arrays.asList(args));
+        int schedulerOption = options.indexOf("--scheduler");
+        if (schedulerOption >= 0 && schedulerOption + 1 < options.size()) {
+            try {
+                schedulerType = SchedulerType.fromName(options.get(schedulerOption + 1));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown scheduler: " + options.get(schedulerOption + 1)
+                        + ". Available: " + Arrays.toString(SchedulerType.values()));
+                return;
+            }
+            options.subList(schedulerOption, schedulerOption + 2).clear();
+        }
+        // Optional priorities, one per program in order: --priorities <p1,p2,p3>
+        int[] priorities = DEFAULT_PRIORITIES;
+        int prioritiesOption = options.indexOf("--priorities");
+        if (prioritiesOption >= 0 && prioritiesOption + 1 < options.size()) {
+            String[] values = options.get(prioritiesOption + 1).split(",");
+            priorities = new int[values.length];
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    priorities[i] = Integer.parseInt(values[i].trim());
+                }
+            } catch (NumberFormatException e) {
+                System.err.println("Invalid priorities: " + options.get(prioritiesOption + 1)
+                        + ". Expected comma-separated integers, e.g. 2,3,1");
+                return;
+            }
+            options.subList(prioritiesOption, prioritiesOption + 2).clear();
+        }
+        // Optional cache model: --cache
+        boolean modelCaches = options.remove("--cache");
+        args = options.toArray(new String[0]);
+
+        // Optional tracing: --trace <file>, --replay <file>, --diff <baseline> <candidate>
+        try {
+            if (args.length >= 2 && args[0].equals("--trace")) {
+                try (TraceRecorder traceRecorder = new TraceRecorder(Path.of(args[1]), TRACE_CAPACITY,
+                        TraceRecorder.Clock.CLOCK_CYCLES)) {
+                    runSimulation(filePaths, traceRecorder, schedulerType, priorities, modelCaches);
+                }
+            } else if (args.length >= 2 && args[0].equals("--replay")) {
+                Map<Integer, List<Parser.Instruction>> programs = Parser.parsePrograms(filePaths);
+                int divergences = TraceReplayer.replay(TraceReplayer.read(Path.of(args[1]), true), programs, new Memory());
+                System.out.println("Replay complete with " + divergences + " divergence(s).");
+            } else if (args.length >= 3 && args[0].equals("--diff")) {
+                TraceReplayer.diff(TraceReplayer.read(Path.of(args[1])), TraceReplayer.read(Path.of(args[2])));
+            } else {
+                runSimulation(filePaths, null, schedulerType, priorities, modelCaches);
+            }
+        } catch (IOException e) {
+            System.err.println("Trace error: " + e.getMessage());
+        }
     }
 
-    private static void runSimulation(List<String> filePaths) {
-        ReadyQueue readyQueue = new ReadyQueue();
+    private static void runSimulation(List<String> filePaths, TraceRecorder traceRecorder, SchedulerType schedulerType,
+                                      int[] priorities, boolean modelCaches) {
+        ReadyQueue readyQueue = new ReadyQueue(schedulerType.create());
+        ProgramTable programs = new ProgramTable(); // Shared images for this run only
         Set<String> addedFilePaths = new HashSet<>();
         int processId = 1;
         int memoryStart = 0;
 
         for (String filePath : filePaths) {
             if (!addedFilePaths.contains(filePath)) {
-                Map<Integer, List<Parser.Instruction>> programs = Parser.parsePrograms(List.of(filePath));
-                List<Parser.Instruction> instructions = programs.get(1);
+                ProgramImage program;
+                try {
+                    program = programs.load(filePath); // Shared by every process running this file
+                } catch (IOException e) {
+                    System.err.println("Error reading file: " + filePath);
+                    continue;
+                } catch (IllegalArgumentException e) {
+                    System.err.println("Error in file " + filePath + ": " + e.getMessage());
+                    continue;
+                }
 
                 // Display parsed instructions
                 System.out.println("Parsed Instructions from " + filePath + ":");
-                for (Parser.Instruction instruction : instructions) {
+                for (Parser.Instruction instruction : program.getInstructions()) {
                     System.out.println(instruction);
                 }
                 System.out.println();
 
                 // Create a process for the file
-                int burstTime = instructions.size();
                 int memoryEnd = memoryStart + 99; // Assign memory range for the process
-                ProcessControlBlock process = new ProcessControlBlock(processId++, memoryStart, memoryEnd, burstTime, 0, instructions);
+                ProcessControlBlock process = new ProcessControlBlock(processId, memoryStart, memoryEnd, program.getBurstTime(), 0, program);
+                if (processId <= priorities.length) {
+                    process.setPriority(priorities[processId - 1]); // Programs beyond the list keep priority 0
+                }
+                processId++;
                 readyQueue.enqueue(process);
                 addedFilePaths.add(filePath);
                 // Update memoryStart for the next process
@@ -41,7 +120,15 @@ public class Main {
 
         // Initialize cores
         int numCores = 2; // Simulate a master core with 2 slave cores
+        Cache[] caches = new Cache[numCores]; // Per-core caches, only when modelCaches is set
+        if (modelCaches) {
+            for (int i = 0; i < numCores; i++) {
+                caches[i] = new Cache(CACHE_SIZE, CACHE_ASSOCIATIVITY, CACHE_HIT_CYCLES, CACHE_MISS_CYCLES);
+            }
+        }
         ProcessControlBlock[] cores = new ProcessControlBlock[numCores];
+        int[] ranFor = new int[numCores]; // Time units each core's process has run since dispatch
+        int[] busyTicks = new int[numCores]; // Time units left in each core's current instruction
 
         // Memory state tracking (optional)
         List<String> memoryLog = new ArrayList<>();
@@ -58,36 +145,71 @@ public class Main {
         while (!readyQueue.isEmpty() || !allCoresIdle(cores)) {
             System.out.println("Clock Cycle: " + clockCycle + "\n");
 
-            // Assign processes to idle cores using SJF
+            // Assign processes to idle cores using the selected scheduler
             for (int i = 0; i < numCores; i++) {
                 if (cores[i] == null || cores[i].isCompleted()) {
-                    // Find the shortest job in the ReadyQueue
-                    ProcessControlBlock shortestJob = getShortestJob(readyQueue);
-                    if (shortestJob != null) {
-                        cores[i] = shortestJob;
-                        cores[i].setState(ProcessControlBlock.STATE_RUNNING);
-                        System.out.println("Core " + i + ": Assigned Process with processID " + shortestJob.getProcessId() + "\n");
+                    ProcessControlBlock nextJob = readyQueue.poll();
+                    if (nextJob != null) {
+                        cores[i] = nextJob;
+                        ranFor[i] = 0;
+                        cores[i].setState(ProcessControlBlock.State.RUNNING);
+                        if (traceRecorder != null) {
+                            traceRecorder.record(TraceRecorder.EventType.DISPATCH, i, nextJob.getProcessId(), -1, 0, clockCycle);
+                        }
+                        System.out.println("Core " + i + ": Assigned Process with processID " + nextJob.getProcessId() + "\n");
                     }
                 }
             }
 
             // Execute processes on each core
             for (int i = 0; i < numCores; i++) {
-                if (cores[i] != null) {
+                if (cores[i] != null && busyTicks[i] > 0) {
+                    System.out.println("Core " + i + ": Continuing instruction (" + busyTicks[i] + " time units left)");
+                } else if (cores[i] != null) {
                     Parser.Instruction instruction = cores[i].getNextInstruction();
                     if (instruction != null) {
+                        int pc = cores[i].getProgramCounter() - 1;
+                        if (traceRecorder != null) {
+                            traceRecorder.record(TraceRecorder.EventType.EXECUTE, i, cores[i].getProcessId(), pc, 0, clockCycle);
+                        }
+                        if (caches[i] != null) {
+                            caches[i].chargeInstruction(cores[i].getProgram(), pc, cores[i].getProcessId(), memory);
+                        }
                         System.out.println("Core " + i + ": Executing instruction: " + instruction);
-                        executeInstruction(cores[i].getProcessId(), instruction, memory, scanner, assignedVariablesMap);
+                        Double written = executeInstruction(cores[i].getProcessId(), instruction, memory, scanner, assignedVariablesMap);
+                        if (traceRecorder != null && written != null) {
+                            traceRecorder.record(TraceRecorder.EventType.MEMORY_WRITE, i, cores[i].getProcessId(), pc, written, clockCycle);
+                        }
                     }
-                    cores[i].reduceBurstTime(1); // Execute for 1 time unit
+                    busyTicks[i] = instruction != null ? instruction.getCost() : 1; // One time unit per element
+                }
+                if (cores[i] != null) {
+                    cores[i].reduceBurstTime(1);
+                    ranFor[i]++;
+                    busyTicks[i]--;
                     if (cores[i].isCompleted()) {
-                        cores[i].setState(ProcessControlBlock.STATE_TERMINATED);
+                        cores[i].setState(ProcessControlBlock.State.TERMINATED);
+                        if (traceRecorder != null) {
+                            traceRecorder.record(TraceRecorder.EventType.COMPLETE, i, cores[i].getProcessId(), -1, 0, clockCycle);
+                        }
                         System.out.println("Core " + i + ": Process " + cores[i].getProcessId() + " completed.");
                         memoryLog.add("Process " + cores[i].getProcessId() + " memory released (" +
                                 cores[i].getMemoryStart() + "-" + cores[i].getMemoryEnd() + ")");
                         memory.release(cores[i].getProcessId()); // Release memory for the process
+                        readyQueue.onComplete(cores[i].getProcessId());
                         cores[i] = null; // Free the core
+                        busyTicks[i] = 0;
                         System.out.println(); // Add extra newline after each process completion block
+                    } else if (busyTicks[i] == 0 && readyQueue.shouldPreempt(cores[i], ranFor[i])) {
+                        // Preempt only between instructions; the process resumes from its program counter
+                        cores[i].setState(ProcessControlBlock.State.READY);
+                        if (traceRecorder != null) {
+                            traceRecorder.record(TraceRecorder.EventType.PREEMPT, i, cores[i].getProcessId(), -1, 0, clockCycle);
+                        }
+                        System.out.println("Core " + i + ": Process " + cores[i].getProcessId() +
+                                " preempted (Remaining Time: " + cores[i].getBurstTime() + ")\n");
+                        readyQueue.enqueue(cores[i]);
+                        cores[i] = null;
                     } else {
                         System.out.println("Core " + i + ": Executing Process " + cores[i].getProcessId() +
                                 " (Remaining Time: " + cores[i].getBurstTime() + ")\n");
@@ -109,23 +231,39 @@ public class Main {
         }
 
         System.out.println("\n=== Simulation Complete ===");
+        if (modelCaches) {
+            System.out.println("Cache statistics:");
+            for (int i = 0; i < numCores; i++) {
+                System.out.println("  Core " + i + ": " + caches[i]);
+            }
+        }
     }
 
-   private static void executeInstruction(int processId, Parser.Instruction instruction, Memory memory, Scanner scanner, Map<Integer, Set<String>> assignedVariablesMap) {
+   // Executes an instruction and returns the value written to memory, or null if nothing was written
+   private static Double executeInstruction(int processId, Parser.Instruction instruction, Memory memory, Scanner scanner, Map<Integer, Set<String>> assignedVariablesMap) {
     Set<String> assignedVariables = assignedVariablesMap.computeIfAbsent(processId, k -> new HashSet<>());
-    if (instruction.getType() == Parser.InstructionType.ASSIGN) {
+    if (Parser.isArrayInstruction(instruction, memory, processId)) {
+        try {
+            Parser.executeArrayInstruction(instruction, memory, processId);
+            return Double.NaN; // Array results are not traced element by element
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+        }
+    } else if (instruction.getType() == Parser.InstructionType.ASSIGN) {
         List<String> operands = instruction.getOperands();
         if (operands.size() == 2 && operands.get(1).equalsIgnoreCase("input")) {
             String variable = operands.get(0);
             double value = getValidInput(scanner, variable);
             memory.assign(processId, variable, value);
             assignedVariables.add(variable);
-        } else if (operands.size() == 4) {
+            return value;
+        } else if (operands.size() >= 3) {
             String variable = operands.get(0);
             try {
                 double result = Parser.evaluateExpression(operands, memory, processId);
                 memory.assign(processId, variable, result);
                 System.out.println("Memory Update: " + variable + " = " + result);
+                return result;
             } catch (IllegalArgumentException e) {
                 System.err.println(e.getMessage());
             }
@@ -134,9 +272,10 @@ public class Main {
         List<String> operands = instruction.getOperands();
         if (operands.size() == 1) {
             String variable = operands.get(0);
-            System.out.println("Printed value of " + variable + ": " + memory.get(processId, variable));
+            System.out.println("Printed value of " + variable + ": " + memory.format(processId, variable.toLowerCase()));
         }
     }
+    return null;
 }
 
     private static double getValidInput(Scanner scanner, String variable) {
@@ -155,19 +294,6 @@ public class Main {
         }
     }
 
-    private static ProcessControlBlock getShortestJob(ReadyQueue readyQueue) {
-        List<ProcessControlBlock> tempList = new ArrayList<>();
-        while (!readyQueue.isEmpty()) {
-            tempList.add(readyQueue.dequeue());
-        }
-        tempList.sort(Comparator.comparingInt(ProcessControlBlock::getBurstTime));
-        ProcessControlBlock shortestJob = tempList.isEmpty() ? null : tempList.remove(0);
-        for (ProcessControlBlock pcb : tempList) {
-            readyQueue.enqueue(pcb);
-        }
-        return shortestJob;
-    }
-
     private static boolean allCoresIdle(ProcessControlBlock[] cores) {
         for (ProcessControlBlock core : cores) {
             if (core != null) return false;
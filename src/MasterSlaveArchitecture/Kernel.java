@@ -0,0 +1,269 @@
+package MasterSlaveArchitecture;
+
+import Components.*;
+import Scheduling.Scheduler;
+import Scheduling.ShortestJobFirstScheduler;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class Kernel {
+    private final Memory memory; // Shared memory for all processes
+    private final ProgramTable programs; // Programs submitted to this kernel, shared by equal submissions
+    private final ReadyQueue readyQueue; // Shared Ready Queue
+    private final MasterCore master;
+    private final List<SlaveCore> slaveCores;
+    private final Map<Integer, CompletableFuture<ProcessResult>> pendingResults; // Futures of unfinished processes
+    private final Map<Integer, Long> submitTimes; // Submission time of unfinished processes
+    private final AtomicInteger nextProcessId;
+    private boolean accepting; // Cleared once shutdown begins; guarded by submitLock
+    private final Object submitLock = new Object(); // Orders submissions against shutdown
+
+    private static final int MEMORY_PER_PROCESS = 100; // Size of each process's memory range
+
+    /**
+     * Creates a kernel that schedules shortest job first.
+     *
+     * @param numCores the number of slave cores
+     * @throws IllegalArgumentException if numCores is not positive
+     */
+    public Kernel(int numCores) {
+        this(numCores, new ShortestJobFirstScheduler());
+    }
+
+    /**
+     * Creates a kernel without caches or tracing.
+     *
+     * @param numCores  the number of slave cores
+     * @param scheduler the scheduling policy of the ready queue
+     * @throws IllegalArgumentException if numCores is not positive
+     */
+    public Kernel(int numCores, Scheduler scheduler) {
+        this(numCores, scheduler, null, false, null);
+    }
+
+    /**
+     * Creates the kernel and starts the master core and its slave cores.
+     * All options are applied before any thread starts.
+     *
+     * @param numCores         the number of slave cores
+     * @param scheduler        the scheduling policy of the ready queue
+     * @param cacheFactory     creates one simulated cache per slave core, or null for none
+     * @param affinityDispatch whether to prefer cores that recently ran the same program
+     * @param traceRecorder    the trace recorder, or null to disable tracing
+     * @throws IllegalArgumentException if numCores is not positive
+     */
+    public Kernel(int numCores, Scheduler scheduler, Supplier<Cache> cacheFactory, boolean affinityDispatch,
+                  TraceRecorder traceRecorder) {
+        if (numCores <= 0) {
+            throw new IllegalArgumentException("Number of cores must be greater than 0.");
+        }
+        this.memory = new Memory();
+        this.programs = new ProgramTable();
+        this.readyQueue = new ReadyQueue(scheduler);
+        this.slaveCores = new ArrayList<>();
+        this.master = new MasterCore(readyQueue, slaveCores);
+        this.pendingResults = new ConcurrentHashMap<>();
+        this.submitTimes = new ConcurrentHashMap<>();
+        this.nextProcessId = new AtomicInteger(1);
+        this.accepting = true;
+
+        for (int i = 0; i < numCores; i++) {
+            SlaveCore slave = new SlaveCore(i, memory, master);
+            if (cacheFactory != null) {
+                slave.setCache(cacheFactory.get());
+            }
+            slave.setTraceRecorder(traceRecorder);
+            slaveCores.add(slave);
+        }
+        master.setCompletionListener(this::complete);
+        master.setAffinityDispatch(affinityDispatch);
+        master.setTraceRecorder(traceRecorder);
+        for (SlaveCore slave : slaveCores) {
+            slave.start();
+        }
+        master.start();
+    }
+
+    public MasterCore getMasterCore() {
+        return master;
+    }
+
+    public List<SlaveCore> getSlaveCores() {
+        return slaveCores;
+    }
+
+    /**
+     * Displays the hit rate and effective CPI of each slave core's cache.
+     */
+    public void displayCacheStatistics() {
+        master.displayCacheStatistics();
+    }
+
+    /**
+     * Submits a parsed program that needs no input values.
+     *
+     * @param program the parsed instructions of the program
+     * @return a future completed with the process's final memory, outputs and timing
+     */
+    public CompletableFuture<ProcessResult> submit(List<Parser.Instruction> program) {
+        return submit(program, Map.of());
+    }
+
+    /**
+     * Submits a parsed program for execution. The program is interned, so
+     * processes running equal programs share one image.
+     *
+     * @param program the parsed instructions of the program
+     * @param inputs  the input value for each input variable
+     * @return a future completed with the process's final memory, outputs and timing
+     * @throws IllegalArgumentException if an array length is invalid, the burst time
+     *                                  overflows, or an input value is missing
+     */
+    public CompletableFuture<ProcessResult> submit(List<Parser.Instruction> program, Map<String, Double> inputs) {
+        return submit(programs.intern(program), inputs, 0);
+    }
+
+    /**
+     * Submits a parsed program for execution with the given priority.
+     *
+     * @param program  the parsed instructions of the program
+     * @param inputs   the input value for each input variable
+     * @param priority the process priority; higher values are favoured by the
+     *                 priority and stride schedulers
+     * @return a future completed with the process's final memory, outputs and timing
+     * @throws IllegalArgumentException if an array length is invalid, the burst time
+     *                                  overflows, or an input value is missing
+     */
+    public CompletableFuture<ProcessResult> submit(List<Parser.Instruction> program, Map<String, Double> inputs,
+                                                   int priority) {
+        return submit(programs.intern(program), inputs, priority);
+    }
+
+    /**
+     * Submits a program image for execution with the default priority of 0.
+     *
+     * @param program the shared program image
+     * @param inputs  the input value for each input variable
+     * @return a future completed with the process's final memory, outputs, timing
+     *         and, if an instruction failed, the first error
+     * @throws IllegalStateException    if the kernel is shutting down
+     * @throws IllegalArgumentException if an input value is missing
+     */
+    public CompletableFuture<ProcessResult> submit(ProgramImage program, Map<String, Double> inputs) {
+        return submit(program, inputs, 0);
+    }
+
+    /**
+     * Submits a program image for execution. Values for its "assign <var> input"
+     * instructions are taken from the given map.
+     *
+     * @param program  the shared program image
+     * @param inputs   the input value for each input variable
+     * @param priority the process priority; higher values are favoured by the
+     *                 priority and stride schedulers
+     * @return a future completed with the process's final memory, outputs, timing
+     *         and, if an instruction failed, the first error
+     * @throws IllegalStateException    if the kernel is shutting down
+     * @throws IllegalArgumentException if an input value is missing
+     */
+    public CompletableFuture<ProcessResult> submit(ProgramImage program, Map<String, Double> inputs, int priority) {
+        Set<String> supplied = new HashSet<>();
+        for (String variable : inputs.keySet()) {
+            supplied.add(variable.toLowerCase());
+        }
+        for (String variable : program.getInputVariables()) {
+            if (!supplied.contains(variable)) {
+                throw new IllegalArgumentException("No input supplied for variable " + variable + ".");
+            }
+        }
+
+        synchronized (submitLock) {
+            if (!accepting) {
+                throw new IllegalStateException("Kernel is shut down.");
+            }
+            int processId = nextProcessId.getAndIncrement();
+            int memoryStart = (processId - 1) * MEMORY_PER_PROCESS;
+            ProcessControlBlock pcb = new ProcessControlBlock(processId, memoryStart, memoryStart + MEMORY_PER_PROCESS - 1,
+                    program.getBurstTime(), 0, program);
+            pcb.setPriority(priority);
+
+            for (Map.Entry<String, Double> input : inputs.entrySet()) {
+                memory.assign(processId, input.getKey().toLowerCase(), input.getValue());
+            }
+            CompletableFuture<ProcessResult> future = new CompletableFuture<>();
+            pendingResults.put(processId, future);
+            submitTimes.put(processId, System.nanoTime());
+            readyQueue.enqueue(pcb);
+            return future;
+        }
+    }
+
+    /**
+     * Submits several programs at once, all using the same input values.
+     *
+     * @param programs the parsed programs
+     * @param inputs   the input value for each input variable
+     * @return a future completed with all results, in submission order
+     */
+    public CompletableFuture<List<ProcessResult>> submitAll(List<List<Parser.Instruction>> programs, Map<String, Double> inputs) {
+        List<CompletableFuture<ProcessResult>> futures = new ArrayList<>();
+        for (List<Parser.Instruction> program : programs) {
+            futures.add(submit(program, inputs));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<ProcessResult> results = new ArrayList<>();
+            for (CompletableFuture<ProcessResult> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Stops accepting new programs, waits for every submitted program to finish,
+     * then stops the master and slave threads. Any future still pending after
+     * the threads exit is completed exceptionally.
+     *
+     * @throws InterruptedException if interrupted while waiting for the threads to exit
+     */
+    public void shutdown() throws InterruptedException {
+        synchronized (submitLock) {
+            accepting = false; // Every accepted submission is in pendingResults from here on
+        }
+        CompletableFuture.allOf(pendingResults.values().toArray(new CompletableFuture<?>[0])).exceptionally(e -> null).join();
+
+        master.shutdown();
+        master.join();
+        for (SlaveCore slave : slaveCores) {
+            slave.shutdown();
+        }
+        for (SlaveCore slave : slaveCores) {
+            slave.join();
+        }
+
+        for (Map.Entry<Integer, CompletableFuture<ProcessResult>> pending : pendingResults.entrySet()) {
+            pending.getValue().completeExceptionally(
+                    new IllegalStateException("Kernel shut down before process " + pending.getKey() + " completed."));
+        }
+        pendingResults.clear();
+        submitTimes.clear();
+    }
+
+    // Completes the future of a finished process, adding its submission time
+    private void complete(ProcessResult result) {
+        CompletableFuture<ProcessResult> future = pendingResults.remove(result.getProcessId());
+        Long submitTime = submitTimes.remove(result.getProcessId());
+        if (future != null) {
+            future.complete(new ProcessResult(result.getProcessId(), result.getCoreId(), result.getMemory(),
+                    result.getArrays(), result.getOutputs(), submitTime != null ? submitTime : result.getStartTime(),
+                    result.getStartTime(), result.getCompletionTime(), result.getError()));
+        }
+    }
+}
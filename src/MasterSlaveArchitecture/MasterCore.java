@@ -1,87 +1,149 @@
 package MasterSlaveArchitecture;
 
 import Components.*;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class MasterCore extends Thread {
     private final ReadyQueue readyQueue; // Shared Ready Queue
     private final List<SlaveCore> slaveCores; // List of Slave Cores
+    private volatile TraceRecorder traceRecorder; // Optional trace recorder (null when tracing is off)
+    private volatile boolean affinityDispatch; // Prefer cores that recently ran the same program
+    private volatile Consumer<ProcessResult> completionListener; // Optional callback for finished processes
+    private volatile boolean running = true; // Cleared by shutdown()
+    private volatile boolean verbose; // Dump the whole ready queue on every scheduling pass
+
+    private static final long SCHEDULING_INTERVAL_MS = 1000; // Longest wait between scheduling passes
 
     public MasterCore(ReadyQueue readyQueue, List<SlaveCore> slaveCores) {
         this.readyQueue = readyQueue;
         this.slaveCores = slaveCores;
     }
 
+    public void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    public void setAffinityDispatch(boolean affinityDispatch) {
+        this.affinityDispatch = affinityDispatch;
+    }
+
+    public void setCompletionListener(Consumer<ProcessResult> completionListener) {
+        this.completionListener = completionListener;
+    }
+
+    /**
+     * Enables dumping the ready queue on every scheduling pass. Off by default:
+     * the loop wakes on every submission and completion, so with a long queue
+     * the dump grows quadratically with the number of processes.
+     *
+     * @param verbose whether to print the queue on each pass
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
     /**
      * Run the MasterCore to manage process scheduling and delegation.
      */
     @Override
     public void run() {
-        while (true) {
+        while (running) {
             synchronized (readyQueue) {
-                // Sort ReadyQueue by Burst Time (SJF Scheduling)
-                List<ProcessControlBlock> sortedQueue = getSortedQueueByBurstTime();
-                readyQueue.displayQueue();
-
-                // Assign processes to available slave cores
-                for (ProcessControlBlock pcb : sortedQueue) {
-                    SlaveCore availableCore = getAvailableSlaveCore();
-                    if (availableCore != null) {
-                        availableCore.assignProcess(pcb.getInstructions(), pcb.getProcessId());
-                        readyQueue.dequeue(); // Remove from ReadyQueue
-                        System.out.println("[MasterCore] Process " + pcb.getProcessId() + " assigned to " + availableCore.getName());
+                if (verbose) {
+                    readyQueue.displayQueue();
+                }
+
+                // Assign processes to available slave cores, in the order chosen by the ReadyQueue's scheduler.
+                // Slave cores run each process to completion, so preemptive policies act non-preemptively here.
+                while (!readyQueue.isEmpty() && hasAvailableSlaveCore()) {
+                    ProcessControlBlock pcb = readyQueue.poll();
+                    // Never null: only this thread marks cores busy, so the core found above is still idle
+                    SlaveCore availableCore = getAvailableSlaveCore(pcb);
+                    // Trace before waking the slave, so its EXECUTE and COMPLETE records follow the DISPATCH
+                    if (traceRecorder != null) {
+                        traceRecorder.record(TraceRecorder.EventType.DISPATCH, availableCore.getCoreId(), pcb.getProcessId(), -1, 0);
                     }
+                    availableCore.assignProcess(pcb.getProgram(), pcb.getProcessId());
+                    System.out.println("[MasterCore] Process " + pcb.getProcessId() + " assigned to " + availableCore.getName());
                 }
-            }
 
-            // Simulate a scheduling interval
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                // Wait for the next scheduling interval, or until a process arrives or a core goes idle
+                try {
+                    readyQueue.wait(SCHEDULING_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
             }
         }
     }
 
     /**
-     * Retrieves the sorted queue by burst time.
-     *
-     * @return List of sorted PCBs.
+     * Stops the scheduling loop. Processes still in the ready queue are not dispatched.
      */
-    private List<ProcessControlBlock> getSortedQueueByBurstTime() {
-        List<ProcessControlBlock> sortedQueue = new ArrayList<>();
-        synchronized (readyQueue) {
-            while (!readyQueue.isEmpty()) {
-                sortedQueue.add(readyQueue.dequeue());
-            }
-            sortedQueue.sort(Comparator.comparingInt(ProcessControlBlock::getBurstTime));
-            for (ProcessControlBlock pcb : sortedQueue) {
-                readyQueue.enqueue(pcb);
+    public void shutdown() {
+        running = false;
+        interrupt();
+    }
+
+    // Checks if any slave core is idle
+    private boolean hasAvailableSlaveCore() {
+        for (SlaveCore slave : slaveCores) {
+            if (slave.isAvailable()) {
+                return true;
             }
         }
-        return sortedQueue;
+        return false;
     }
 
     /**
-     * Finds an available slave core.
+     * Finds an available slave core. With affinity dispatch enabled, a core that
+     * last ran the same program is preferred, since its cache may still hold
+     * that program's instruction lines.
      *
+     * @param pcb the process about to be dispatched
      * @return An available SlaveCore or null if none are available.
      */
-    private SlaveCore getAvailableSlaveCore() {
+    private SlaveCore getAvailableSlaveCore(ProcessControlBlock pcb) {
+        SlaveCore firstIdle = null;
         for (SlaveCore slave : slaveCores) {
             if (slave.isAvailable()) {
-                return slave;
+                if (!affinityDispatch || slave.getLastProgram() == pcb.getProgram()) {
+                    return slave;
+                }
+                if (firstIdle == null) {
+                    firstIdle = slave;
+                }
             }
         }
-        return null; // No cores are available
+        return firstIdle; // null if no cores are available
+    }
+
+    /**
+     * Displays the hit rate and effective CPI of each slave core's cache.
+     */
+    public void displayCacheStatistics() {
+        System.out.println("[MasterCore] Cache statistics:");
+        for (SlaveCore slave : slaveCores) {
+            Cache cache = slave.getCache();
+            System.out.println("  Core " + slave.getCoreId() + ": " + (cache == null ? "no cache" : cache));
+        }
     }
 
-    public void notifyIdleCore(int coreId) {
-        synchronized (slaveCores.get(coreId)) {
-            slaveCores.get(coreId).notify();
+    /**
+     * Called by a slave core when it finishes a process, so the next one can be dispatched.
+     *
+     * @param coreId the ID of the core that became idle
+     * @param result the result of the process it finished
+     */
+    public void notifyIdleCore(int coreId, ProcessResult result) {
+        readyQueue.onComplete(result.getProcessId());
+        if (completionListener != null) {
+            completionListener.accept(result);
+        }
+        synchronized (readyQueue) {
+            readyQueue.notifyAll(); // Wake the scheduling loop
         }
     }
 }
\ No newline at end of file
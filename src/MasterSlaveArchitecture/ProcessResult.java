@@ -0,0 +1,101 @@
+package MasterSlaveArchitecture;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class ProcessResult {
+    private final int processId; // ID of the completed process
+    private final int coreId; // Slave core the process ran on
+    private final Map<String, Double> memory; // Final variable values of the process
+    private final Map<String, double[]> arrays; // Final array variables of the process
+    private final List<String> outputs; // Lines produced by PRINT instructions, in order
+    private final long submitTime; // System.nanoTime() when the process was submitted
+    private final long startTime; // System.nanoTime() when a core started executing it
+    private final long completionTime; // System.nanoTime() when it finished
+    private final String error; // First instruction failure, or null if every instruction succeeded
+
+    public ProcessResult(int processId, int coreId, Map<String, Double> memory, Map<String, double[]> arrays, List<String> outputs,
+                         long submitTime, long startTime, long completionTime, String error) {
+        this.processId = processId;
+        this.coreId = coreId;
+        this.memory = Collections.unmodifiableMap(memory);
+        this.arrays = Collections.unmodifiableMap(arrays);
+        this.outputs = Collections.unmodifiableList(outputs);
+        this.submitTime = submitTime;
+        this.startTime = startTime;
+        this.completionTime = completionTime;
+        this.error = error;
+    }
+
+    public int getProcessId() {
+        return processId;
+    }
+
+    public int getCoreId() {
+        return coreId;
+    }
+
+    public Map<String, Double> getMemory() {
+        return memory;
+    }
+
+    public Map<String, double[]> getArrays() {
+        return arrays;
+    }
+
+    public List<String> getOutputs() {
+        return outputs;
+    }
+
+    public long getSubmitTime() {
+        return submitTime;
+    }
+
+    public long getStartTime() {
+        return startTime;
+    }
+
+    public long getCompletionTime() {
+        return completionTime;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isSuccessful() {
+        return error == null;
+    }
+
+    /**
+     * Returns the time the process spent waiting in the ready queue.
+     *
+     * @return the waiting time in nanoseconds
+     */
+    public long getWaitingTime() {
+        return startTime - submitTime;
+    }
+
+    /**
+     * Returns the time from submission to completion.
+     *
+     * @return the turnaround time in nanoseconds
+     */
+    public long getTurnaroundTime() {
+        return completionTime - submitTime;
+    }
+
+    @Override
+    public String toString() {
+        return "ProcessResult{" +
+                "processId=" + processId +
+                ", coreId=" + coreId +
+                ", memory=" + memory +
+                ", outputs=" + outputs +
+                (error != null ? ", error='" + error + '\'' : "") +
+                ", waitingTime=" + getWaitingTime() +
+                ", turnaroundTime=" + getTurnaroundTime() +
+                '}';
+    }
+}
@@ -1,15 +1,20 @@
 package MasterSlaveArchitecture;
 
 import Components.*;
+import java.util.ArrayList;
 import java.util.List;
 
 public class SlaveCore extends Thread {
     private final int coreId; // Unique ID for this SlaveCore
-    private boolean isBusy;
-    private List<Parser.Instruction> assignedProcess;
+    private volatile boolean isBusy;
+    private volatile boolean running = true; // Cleared by shutdown()
+    private ProgramImage assignedProcess;
     private Memory memory;
     private MasterCore master;
     private int processId; // Add processId to track the process
+    private volatile TraceRecorder traceRecorder; // Optional trace recorder (null when tracing is off)
+    private volatile Cache cache; // Optional simulated private cache (null when not modelled)
+    private ProgramImage lastProgram; // Program most recently run on this core
 
     public SlaveCore(int coreId, Memory memory, MasterCore master) {
         this.coreId = coreId;
@@ -18,6 +23,26 @@ public class SlaveCore extends Thread {
         this.isBusy = false;
     }
 
+    public int getCoreId() {
+        return coreId;
+    }
+
+    public void setTraceRecorder(TraceRecorder traceRecorder) {
+        this.traceRecorder = traceRecorder;
+    }
+
+    public void setCache(Cache cache) {
+        this.cache = cache;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public synchronized ProgramImage getLastProgram() {
+        return lastProgram;
+    }
+
     public synchronized boolean isBusy() {
         return isBusy;
     }
@@ -26,41 +51,78 @@ public class SlaveCore extends Thread {
         return !isBusy;
     }
 
-    public synchronized void assignProcess(List<Parser.Instruction> process, int processId) {
+    public synchronized void assignProcess(ProgramImage process, int processId) {
         this.assignedProcess = process;
         this.processId = processId; // Set the processId when assigning a process
+        this.lastProgram = process;
         this.isBusy = true;
         notify();
     }
 
+    /**
+     * Stops this core once it is idle. A process already running is finished first.
+     */
+    public synchronized void shutdown() {
+        running = false;
+        notify();
+    }
+
     @Override
     public void run() {
         while (true) {
             synchronized (this) {
-                while (!isBusy) {
+                while (!isBusy && running) {
                     try {
                         wait(); // Wait for a process to be assigned
                     } catch (InterruptedException e) {
                         e.printStackTrace();
                     }
                 }
+                if (!isBusy) {
+                    return; // Shut down while idle
+                }
             }
 
             // Execute the assigned process
-            for (Parser.Instruction instruction : assignedProcess) {
+            long startTime = System.nanoTime();
+            List<String> outputs = new ArrayList<>();
+            String error = null; // First failure, reported in the result
+            for (int pc = 0; pc < assignedProcess.size(); pc++) {
+                Parser.Instruction instruction = assignedProcess.getInstruction(pc);
+                if (traceRecorder != null) {
+                    traceRecorder.record(TraceRecorder.EventType.EXECUTE, coreId, processId, pc, 0);
+                }
+                if (cache != null) {
+                    cache.chargeInstruction(assignedProcess, pc, processId, memory);
+                }
                 try {
                     switch (instruction.getType()) {
+                        case ARRAY:
                         case ASSIGN:
+                            if (Parser.isArrayInstruction(instruction, memory, processId)) {
+                                Parser.executeArrayInstruction(instruction, memory, processId);
+                                if (traceRecorder != null) {
+                                    traceRecorder.record(TraceRecorder.EventType.MEMORY_WRITE, coreId, processId, pc, Double.NaN);
+                                }
+                                break;
+                            }
                             // Evaluate the expression and assign the result to the variable
                             String variableName = instruction.getOperands().get(0).toLowerCase();
-                            double result = Parser.evaluateExpression(instruction.getOperands(), memory, processId);
+                            double result = isInput(instruction)
+                                    ? readInput(variableName)
+                                    : Parser.evaluateExpression(instruction.getOperands(), memory, processId);
                             memory.assign(processId, variableName, result);
+                            if (traceRecorder != null) {
+                                traceRecorder.record(TraceRecorder.EventType.MEMORY_WRITE, coreId, processId, pc, result);
+                            }
                             break;
 
                         case PRINT:
                             // Print the value of the variable
                             String printVar = instruction.getOperands().get(0).toLowerCase();
-                            System.out.println("Core " + coreId + ": " + printVar + " = " + memory.get(processId, printVar));
+                            String output = printVar + " = " + memory.format(processId, printVar);
+                            outputs.add(output);
+                            System.out.println("Core " + coreId + ": " + output);
                             break;
 
                         default:
@@ -68,14 +130,40 @@ public class SlaveCore extends Thread {
                     }
                 } catch (Exception e) {
                     System.err.println("Error executing instruction: " + instruction + " in Core " + coreId);
+                    if (error == null) {
+                        error = instruction + ": " + e.getMessage();
+                    }
                 }
             }
 
+            if (traceRecorder != null) {
+                traceRecorder.record(TraceRecorder.EventType.COMPLETE, coreId, processId, -1, 0);
+            }
+
+            ProcessResult result = new ProcessResult(processId, coreId, memory.snapshot(processId),
+                    memory.snapshotArrays(processId), outputs, startTime, startTime, System.nanoTime(), error);
+            memory.release(processId);
+
             // Notify MasterCore that this core is idle
             synchronized (this) {
                 isBusy = false;
-                master.notifyIdleCore(coreId);
             }
+            master.notifyIdleCore(coreId, result);
+        }
+    }
+
+    // Checks if an instruction is an "assign <var> input" instruction
+    private static boolean isInput(Parser.Instruction instruction) {
+        List<String> operands = instruction.getOperands();
+        return operands.size() == 2 && operands.get(1).equalsIgnoreCase("input");
+    }
+
+    // Input values are supplied in memory before the process is submitted
+    private double readInput(String variable) {
+        Double value = memory.get(processId, variable);
+        if (value == null) {
+            throw new IllegalArgumentException("No input supplied for variable " + variable + ".");
         }
+        return value;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+
+// First come, first served
+public class FifoScheduler implements Scheduler {
+    private final Queue<ProcessControlBlock> queue = new ArrayDeque<>();
+
+    @Override
+    public void add(ProcessControlBlock pcb) {
+        queue.offer(pcb);
+    }
+
+    @Override
+    public ProcessControlBlock poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public ProcessControlBlock peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public Collection<ProcessControlBlock> processes() {
+        return queue;
+    }
+}
@@ -0,0 +1,46 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// Base for policies backed by a binary heap, whose elements each hold one process
+public abstract class HeapScheduler<E> implements Scheduler {
+    protected final PriorityQueue<E> heap;
+
+    protected HeapScheduler(Comparator<? super E> order) {
+        this.heap = new PriorityQueue<>(order);
+    }
+
+    // Returns the process held by a heap element
+    protected abstract ProcessControlBlock processOf(E element);
+
+    @Override
+    public ProcessControlBlock poll() {
+        E element = heap.poll();
+        return element != null ? processOf(element) : null;
+    }
+
+    @Override
+    public ProcessControlBlock peek() {
+        E element = heap.peek();
+        return element != null ? processOf(element) : null;
+    }
+
+    @Override
+    public int size() {
+        return heap.size();
+    }
+
+    @Override
+    public Collection<ProcessControlBlock> processes() {
+        List<ProcessControlBlock> processes = new ArrayList<>(heap.size());
+        for (E element : heap) {
+            processes.add(processOf(element));
+        }
+        return processes;
+    }
+}
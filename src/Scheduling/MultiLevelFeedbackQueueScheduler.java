@@ -0,0 +1,145 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-level feedback queue. New processes start at level 0; a process that
+ * uses up its quantum drops one level, and quanta double at each level. A
+ * process that has waited longer than the aging threshold moves up one level.
+ * Selection and aging only look at queue heads, so each call costs O(levels).
+ */
+public class MultiLevelFeedbackQueueScheduler implements Scheduler {
+
+    // Queue entry; the timestamp records when the process joined its current level
+    private static class Entry {
+        private final ProcessControlBlock pcb;
+        private final long enqueuedAt;
+
+        Entry(ProcessControlBlock pcb, long enqueuedAt) {
+            this.pcb = pcb;
+            this.enqueuedAt = enqueuedAt;
+        }
+    }
+
+    private final List<ArrayDeque<Entry>> levels;
+    // Level of dispatched processes below level 0, kept only until they are queued again or
+    // complete; a queued process's level is the deque it sits in, so this holds at most one
+    // entry per core
+    private final Map<Integer, Integer> levelOf;
+    private final int baseQuantum;
+    private final long agingThreshold; // Polls a process may wait before it is promoted
+    private long clock; // Number of polls so far
+    private int size;
+
+    public MultiLevelFeedbackQueueScheduler() {
+        this(3, 2, 16);
+    }
+
+    /**
+     * Creates an MLFQ scheduler.
+     *
+     * @param numLevels      the number of queue levels
+     * @param baseQuantum    the quantum of level 0, in time units
+     * @param agingThreshold the number of polls a process may wait before it is promoted
+     * @throws IllegalArgumentException if invalid values are provided
+     */
+    public MultiLevelFeedbackQueueScheduler(int numLevels, int baseQuantum, long agingThreshold) {
+        if (numLevels <= 0 || baseQuantum <= 0 || agingThreshold <= 0) {
+            throw new IllegalArgumentException("Levels, quantum and aging threshold must be greater than 0.");
+        }
+        this.levels = new ArrayList<>(numLevels);
+        for (int i = 0; i < numLevels; i++) {
+            levels.add(new ArrayDeque<>());
+        }
+        this.levelOf = new HashMap<>();
+        this.baseQuantum = baseQuantum;
+        this.agingThreshold = agingThreshold;
+    }
+
+    @Override
+    public void add(ProcessControlBlock pcb) {
+        Integer level = levelOf.remove(pcb.getProcessId());
+        levels.get(level != null ? level : 0).addLast(new Entry(pcb, clock));
+        size++;
+    }
+
+    @Override
+    public ProcessControlBlock poll() {
+        clock++;
+        age();
+        for (int i = 0; i < levels.size(); i++) {
+            ArrayDeque<Entry> level = levels.get(i);
+            if (!level.isEmpty()) {
+                size--;
+                ProcessControlBlock pcb = level.pollFirst().pcb;
+                if (i > 0) {
+                    levelOf.put(pcb.getProcessId(), i); // Remembered while it runs
+                }
+                return pcb;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public ProcessControlBlock peek() {
+        for (ArrayDeque<Entry> level : levels) {
+            if (!level.isEmpty()) {
+                return level.peekFirst().pcb;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Collection<ProcessControlBlock> processes() {
+        List<ProcessControlBlock> processes = new ArrayList<>(size);
+        for (ArrayDeque<Entry> level : levels) {
+            for (Entry entry : level) {
+                processes.add(entry.pcb);
+            }
+        }
+        return processes;
+    }
+
+    @Override
+    public boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        int level = levelOf.getOrDefault(running.getProcessId(), 0);
+        for (int i = 0; i < level; i++) {
+            if (!levels.get(i).isEmpty()) {
+                return true; // Higher-level work is waiting
+            }
+        }
+        if (ranFor >= baseQuantum << level) {
+            levelOf.put(running.getProcessId(), Math.min(level + 1, levels.size() - 1)); // Quantum used up: demote
+            return size > 0;
+        }
+        return false;
+    }
+
+    @Override
+    public void onComplete(int processId) {
+        levelOf.remove(processId);
+    }
+
+    // Promotes processes that have waited too long; heads are always the oldest entries
+    private void age() {
+        for (int i = 1; i < levels.size(); i++) {
+            ArrayDeque<Entry> level = levels.get(i);
+            while (!level.isEmpty() && clock - level.peekFirst().enqueuedAt > agingThreshold) {
+                levels.get(i - 1).addLast(new Entry(level.pollFirst().pcb, clock));
+            }
+        }
+    }
+}
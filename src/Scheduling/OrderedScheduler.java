@@ -0,0 +1,23 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.Comparator;
+
+// Base for policies that always pick the minimum under some ordering, in O(log n).
+// The heap holds the PCBs themselves; ties go to the lower process ID, i.e. the earlier submission.
+public abstract class OrderedScheduler extends HeapScheduler<ProcessControlBlock> {
+
+    protected OrderedScheduler(Comparator<ProcessControlBlock> order) {
+        super(order.thenComparingInt(ProcessControlBlock::getProcessId));
+    }
+
+    @Override
+    protected ProcessControlBlock processOf(ProcessControlBlock pcb) {
+        return pcb;
+    }
+
+    @Override
+    public void add(ProcessControlBlock pcb) {
+        heap.offer(pcb);
+    }
+}
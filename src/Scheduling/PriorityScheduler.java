@@ -0,0 +1,18 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.Comparator;
+
+// Preemptive priority scheduling: the highest priority value runs first
+public class PriorityScheduler extends OrderedScheduler {
+
+    public PriorityScheduler() {
+        super(Comparator.comparingInt(ProcessControlBlock::getPriority).reversed());
+    }
+
+    @Override
+    public boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        ProcessControlBlock next = peek();
+        return next != null && next.getPriority() > running.getPriority();
+    }
+}
@@ -0,0 +1,70 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.Collection;
+
+/**
+ * A scheduling policy that decides which ready process runs next.
+ * Implementations are not thread-safe; ReadyQueue serializes access to them.
+ */
+public interface Scheduler {
+
+    /**
+     * Adds a process that has arrived or was preempted.
+     *
+     * @param pcb the process control block
+     */
+    void add(ProcessControlBlock pcb);
+
+    /**
+     * Removes and returns the process that should run next.
+     *
+     * @return the next process, or null if none is ready
+     */
+    ProcessControlBlock poll();
+
+    /**
+     * Returns the process that would run next without removing it.
+     *
+     * @return the next process, or null if none is ready
+     */
+    ProcessControlBlock peek();
+
+    /**
+     * Returns the number of ready processes.
+     *
+     * @return the number of ready processes
+     */
+    int size();
+
+    /**
+     * Returns all ready processes, in no particular order.
+     *
+     * @return the ready processes
+     */
+    Collection<ProcessControlBlock> processes();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Decides whether a running process should give up its core. Engines that
+     * cannot preempt never call this.
+     *
+     * @param running the running process
+     * @param ranFor  the time units it has run since it was last dispatched
+     * @return true if it should be put back into the ready queue
+     */
+    default boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        return false;
+    }
+
+    /**
+     * Called when a process terminates, so per-process state can be dropped.
+     *
+     * @param processId the ID of the terminated process
+     */
+    default void onComplete(int processId) {
+    }
+}
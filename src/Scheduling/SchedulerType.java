@@ -0,0 +1,41 @@
+package Scheduling;
+
+// Scheduling policies selectable at startup
+public enum SchedulerType {
+    FIFO, SJF, SRTF, PRIORITY, MLFQ, STRIDE;
+
+    /**
+     * Creates a new scheduler instance for this policy.
+     *
+     * @return the scheduler
+     */
+    public Scheduler create() {
+        switch (this) {
+            case FIFO:
+                return new FifoScheduler();
+            case SJF:
+                return new ShortestJobFirstScheduler();
+            case SRTF:
+                return new ShortestRemainingTimeScheduler();
+            case PRIORITY:
+                return new PriorityScheduler();
+            case MLFQ:
+                return new MultiLevelFeedbackQueueScheduler();
+            case STRIDE:
+                return new StrideScheduler();
+            default:
+                throw new IllegalArgumentException("Unknown scheduler: " + this);
+        }
+    }
+
+    /**
+     * Looks up a policy by name, ignoring case.
+     *
+     * @param name the policy name, e.g. "mlfq"
+     * @return the policy
+     * @throws IllegalArgumentException if no policy has that name
+     */
+    public static SchedulerType fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,12 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.Comparator;
+
+// Non-preemptive: the process with the smallest remaining burst time runs next
+public class ShortestJobFirstScheduler extends OrderedScheduler {
+
+    public ShortestJobFirstScheduler() {
+        super(Comparator.comparingInt(ProcessControlBlock::getBurstTime));
+    }
+}
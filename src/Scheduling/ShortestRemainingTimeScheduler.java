@@ -0,0 +1,13 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+
+// Preemptive SJF: a running process yields when a shorter one is ready
+public class ShortestRemainingTimeScheduler extends ShortestJobFirstScheduler {
+
+    @Override
+    public boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        ProcessControlBlock next = peek();
+        return next != null && next.getBurstTime() < running.getBurstTime();
+    }
+}
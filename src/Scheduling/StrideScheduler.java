@@ -0,0 +1,97 @@
+package Scheduling;
+
+import Components.ProcessControlBlock;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stride scheduling, the deterministic form of lottery scheduling. Each process
+ * holds priority + 1 tickets; the process with the lowest pass runs next and its
+ * pass then advances by a stride inversely proportional to its tickets, scaled
+ * by the quanta it actually used so an instruction that overruns is paid for.
+ */
+public class StrideScheduler extends HeapScheduler<StrideScheduler.Entry> {
+    private static final long STRIDE_NUMERATOR = 1 << 20;
+
+    // Heap entry; the sequence number keeps ties in arrival order
+    static class Entry {
+        private final ProcessControlBlock pcb;
+        private final long pass;
+        private final long sequence;
+
+        Entry(ProcessControlBlock pcb, long pass, long sequence) {
+            this.pcb = pcb;
+            this.pass = pass;
+            this.sequence = sequence;
+        }
+    }
+
+    private final Map<Integer, Long> passes = new HashMap<>(); // Pass of processes that have already run
+    private final Map<Integer, Long> dispatchPasses = new HashMap<>(); // Pass of each process when last dispatched
+    private final int quantum;
+    private long globalPass; // Pass of the most recently dispatched process
+    private long nextSequence;
+
+    public StrideScheduler() {
+        this(2);
+    }
+
+    /**
+     * Creates a stride scheduler.
+     *
+     * @param quantum the time units a process runs before others may be dispatched
+     * @throws IllegalArgumentException if quantum is not positive
+     */
+    public StrideScheduler(int quantum) {
+        super(Comparator.<Entry>comparingLong(e -> e.pass).thenComparingLong(e -> e.sequence));
+        if (quantum <= 0) {
+            throw new IllegalArgumentException("Quantum must be greater than 0.");
+        }
+        this.quantum = quantum;
+    }
+
+    @Override
+    public void add(ProcessControlBlock pcb) {
+        // Newcomers start at the current global pass so they cannot monopolize the cores
+        long pass = passes.getOrDefault(pcb.getProcessId(), globalPass);
+        heap.offer(new Entry(pcb, pass, nextSequence++));
+    }
+
+    @Override
+    public ProcessControlBlock poll() {
+        Entry entry = heap.poll();
+        if (entry == null) {
+            return null;
+        }
+        globalPass = entry.pass;
+        // Charge one quantum up front; shouldPreempt raises this if the process runs longer
+        dispatchPasses.put(entry.pcb.getProcessId(), entry.pass);
+        passes.put(entry.pcb.getProcessId(), entry.pass + stride(entry.pcb));
+        return entry.pcb;
+    }
+
+    @Override
+    protected ProcessControlBlock processOf(Entry entry) {
+        return entry.pcb;
+    }
+
+    @Override
+    public boolean shouldPreempt(ProcessControlBlock running, int ranFor) {
+        Long dispatchPass = dispatchPasses.get(running.getProcessId());
+        if (dispatchPass != null && ranFor > quantum) {
+            passes.put(running.getProcessId(), dispatchPass + stride(running) * ranFor / quantum);
+        }
+        return ranFor >= quantum && !heap.isEmpty();
+    }
+
+    @Override
+    public void onComplete(int processId) {
+        passes.remove(processId);
+        dispatchPasses.remove(processId);
+    }
+
+    private static long stride(ProcessControlBlock pcb) {
+        return STRIDE_NUMERATOR / Math.max(1, pcb.getPriority() + 1);
+    }
+}